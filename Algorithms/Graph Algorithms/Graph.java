@@ -1,3 +1,5 @@
+package algorithms.graph;
+
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
@@ -1,3 +1,5 @@
+package algorithms.graph;
+
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
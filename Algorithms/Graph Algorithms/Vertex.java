@@ -1,3 +1,5 @@
+package algorithms.graph;
+
 /**
  * Class representing a vertex.
  *
@@ -1,3 +1,5 @@
+package algorithms.graph;
+
 /**
  * Class to store a vertex in a graph and an integer associated with it
  * representing the distance to this vertex from some other vertex
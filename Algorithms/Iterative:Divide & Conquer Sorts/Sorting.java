@@ -1,3 +1,5 @@
+package algorithms.sorting;
+
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.ArrayList;
@@ -1,3 +1,5 @@
+package datastructures.avl;
+
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.NoSuchElementException;
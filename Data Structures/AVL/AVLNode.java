@@ -1,3 +1,5 @@
+package datastructures.avl;
+
 /**
  * Node class used for implementing the AVL.
  *
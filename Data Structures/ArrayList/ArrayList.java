@@ -1,8 +1,31 @@
+package datastructures.arraylist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * My implementation of an ArrayList.
  *
+ * The backing array is used circularly: the list starts at a head offset
+ * and wraps around the end of the array. Adding or removing at either end
+ * only moves the head or the back, so both are amortized O(1), and adding
+ * or removing in between shifts whichever side of the index is shorter.
+ * get still reads a single slot.
+ *
+ * The bulk operations addAll and removeRange grow the backing array at
+ * most once and move each shifted block with System.arraycopy, at most
+ * two copies per block where it wraps.
+ *
+ * stream and parallelStream run over a spliterator that splits the index
+ * range in half, so a parallel stream hands the fork-join pool equal,
+ * exactly sized parts. It fails fast if the list changes under it.
+ *
  * @author Ian Andrew McLeod
  * @version 1.0
  */
@@ -14,7 +37,9 @@ public class ArrayList<T> {
     public static final int INITIAL_CAPACITY = 9;
 
     private T[] backingArray;
+    private int head;
     private int size;
+    private int modCount;
 
     /**
      * Constructs a new ArrayList.
@@ -22,6 +47,7 @@ public class ArrayList<T> {
     public ArrayList() {
         Object[] arr = new Object[INITIAL_CAPACITY];
         backingArray = (T[]) arr;
+        head = 0;
         size = 0;
     }
 
@@ -46,34 +72,87 @@ public class ArrayList<T> {
         if (data == null) {
             throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
         }
-
         // resize case
         if (size == backingArray.length) {
-            T[] oldArray = backingArray;
-            Object[] arr = new Object[size * 2];
-            backingArray = (T[]) arr;
-            for (int i = 0; i < index; i++) {
-                backingArray[i] = oldArray[i];
-            }
-            backingArray[index] = data;
-            size++;
-            for (int i = index; i < oldArray.length; i++) {
-                backingArray[i + 1] = oldArray[i];
+            resize(size * 2);
+        }
+        // shift whichever side of index is shorter
+        if (index < size / 2) {
+            head = head == 0 ? backingArray.length - 1 : head - 1;
+            move(1, 0, index);
+        } else {
+            move(index, index + 1, size - index);
+        }
+        backingArray[physicalIndex(index)] = data;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds every element of the batch at the specified index, in order.
+     * Grows the backing array at most once and shifts the elements after
+     * index, or before it if there are fewer, once.
+     *
+     * @param index the index at which to add the first element
+     * @param batch the data to add
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException  if batch or any of its
+     *                                             elements is null
+     */
+    public void addAll(int index, T[] batch) {
+        // Exceptions
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index > size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size. "
+                    + "Please enter an index less than or equal to the size of the ArrayList.");
+        }
+        if (batch == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        for (T data : batch) {
+            if (data == null) {
+                throw new IllegalArgumentException("The data you entered contains null. Please input existing data.");
             }
+        }
+        int count = batch.length;
+        if (count == 0) {
             return;
         }
-        // default cases
-        if (index == 0) {
-            addToFront(data);
-        } else if (index == size) {
-            addToBack(data);
-        } else {
-            for (int i = size - 1; i >= index; i--) {
-                backingArray[i + 1] = backingArray[i];
+        // resize case, leaving the gap for the batch while copying
+        if (size + count > backingArray.length) {
+            resize(Math.max(size + count, backingArray.length * 2), index, count);
+        } else if (index < size / 2) {
+            head -= count;
+            if (head < 0) {
+                head += backingArray.length;
             }
-            backingArray[index] = data;
-            size++;
+            move(count, 0, index);
+        } else {
+            move(index, index + count, size - index);
         }
+        int start = physicalIndex(index);
+        int firstPart = Math.min(count, backingArray.length - start);
+        System.arraycopy(batch, 0, backingArray, start, firstPart);
+        System.arraycopy(batch, firstPart, backingArray, 0, count - firstPart);
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Adds every element of the collection to the back of the list, in the
+     * collection's iteration order.
+     *
+     * @param data the data to add
+     * @throws java.lang.IllegalArgumentException if data or any of its
+     *                                            elements is null
+     */
+    public void addAll(Collection<? extends T> data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        addAll(size, (T[]) data.toArray());
     }
 
     /**
@@ -89,22 +168,12 @@ public class ArrayList<T> {
         }
         // resize case
         if (size == backingArray.length) {
-            T[] oldArray = backingArray;
-            Object[] arr = new Object[size * 2];
-            backingArray = (T[]) arr;
-            backingArray[0] = data;
-            size++;
-            for (int i = 0; i < oldArray.length; i++) {
-                backingArray[i + 1] = oldArray[i];
-            }
-        // default case
-        } else if (size < backingArray.length) {
-            for (int i = size - 1; i >= 0; i--) {
-                backingArray[i + 1] = backingArray[i];
-            }
-            backingArray[0] = data;
-            size++;
+            resize(size * 2);
         }
+        head = head == 0 ? backingArray.length - 1 : head - 1;
+        backingArray[head] = data;
+        size++;
+        modCount++;
     }
 
     /**
@@ -120,19 +189,11 @@ public class ArrayList<T> {
         }
         //resize case
         if (size == backingArray.length) {
-            T[] oldArray = backingArray;
-            Object[] arr = new Object[size * 2];
-            backingArray = (T[]) arr;
-            for (int i = 0; i < oldArray.length; i++) {
-                backingArray[i] = oldArray[i];
-            }
-            backingArray[oldArray.length] = data;
-            size++;
-        } else if (size < backingArray.length) {
-            backingArray[size] = data;
-            size++;
+            resize(size * 2);
         }
-
+        backingArray[physicalIndex(size)] = data;
+        size++;
+        modCount++;
     }
 
     /**
@@ -151,23 +212,55 @@ public class ArrayList<T> {
             throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
                     + " Please enter an index less than the size of the ArrayList.");
         }
-        T oldData = backingArray[index];
-        // O(1) case
-        if (index == size - 1) {
-            backingArray[size - 1] = null;
-            size--;
-        // O(n) cases
+        T oldData = backingArray[physicalIndex(index)];
+        // close the gap from whichever side is shorter
+        if (index < size / 2) {
+            move(0, 1, index);
+            backingArray[head] = null;
+            head = head == backingArray.length - 1 ? 0 : head + 1;
         } else {
-            backingArray[index] = null;
-            size--;
-            for (int i = index; i < size; i++) {
-                backingArray[i] = backingArray[i + 1];
-                backingArray[i + 1] = null;
-            }
+            move(index + 1, index, size - index - 1);
+            backingArray[physicalIndex(size - 1)] = null;
         }
+        size--;
+        modCount++;
         return oldData;
     }
 
+    /**
+     * Removes the data from index from, inclusive, to index to, exclusive,
+     * shifting the shorter of the two sides around the range once.
+     *
+     * @param from the index of the first data to remove
+     * @param to   the index after the last data to remove
+     * @throws java.lang.IndexOutOfBoundsException if from < 0, to > size or
+     *                                             from > to
+     */
+    public void removeRange(int from, int to) {
+        // Exceptions
+        if (from < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (to > size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size. "
+                    + "Please enter an index less than or equal to the size of the ArrayList.");
+        } else if (from > to) {
+            throw new IndexOutOfBoundsException("The from index you input is greater than the to index."
+                    + " Please enter a from index less than or equal to the to index.");
+        }
+        int count = to - from;
+        if (from < size - to) {
+            move(0, count, from);
+            clearSlots(0, count);
+            head = physicalIndex(count);
+        } else {
+            move(to, from, size - to);
+            clearSlots(size - count, count);
+        }
+        size -= count;
+        modCount++;
+    }
+
     /**
      * Removes and returns the first data of the list.
      *
@@ -179,8 +272,12 @@ public class ArrayList<T> {
             throw new NoSuchElementException("The list is empty."
                     + " Please add elements to the list before attempting to remove.");
         }
-        return removeAtIndex(0);
-
+        T oldData = backingArray[head];
+        backingArray[head] = null;
+        head = head == backingArray.length - 1 ? 0 : head + 1;
+        size--;
+        modCount++;
+        return oldData;
     }
 
     /**
@@ -194,9 +291,11 @@ public class ArrayList<T> {
             throw new NoSuchElementException("The list is empty."
                     + " Please add elements to the list before attempting to remove.");
         }
-        T oldData = backingArray[size - 1];
-        backingArray[size - 1] = null;
+        int back = physicalIndex(size - 1);
+        T oldData = backingArray[back];
+        backingArray[back] = null;
         size--;
+        modCount++;
         return oldData;
     }
 
@@ -216,8 +315,57 @@ public class ArrayList<T> {
                     + " Please enter an index less than the size of the ArrayList.");
         }
 
-        return backingArray[index];
+        return backingArray[physicalIndex(index)];
+
+    }
+
+    /**
+     * Grows the backing array to at least minCapacity, so that many
+     * elements fit without another resize.
+     *
+     * @param minCapacity the number of elements to make room for
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > backingArray.length) {
+            resize(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the backing array to the size of the list, or 1 if it is
+     * empty.
+     */
+    public void trimToSize() {
+        if (backingArray.length > Math.max(size, 1)) {
+            resize(Math.max(size, 1));
+        }
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list, in order.
+     *
+     * @return the spliterator
+     */
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the list.
+     *
+     * @return the stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
 
+    /**
+     * Returns a parallel stream of the elements of the list.
+     *
+     * @return the stream
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
     }
 
     /**
@@ -235,10 +383,15 @@ public class ArrayList<T> {
     public void clear() {
         Object[] arr = new Object[INITIAL_CAPACITY];
         backingArray = (T[]) arr;
+        head = 0;
         size = 0;
+        modCount++;
     }
 
     /**
+     * The list starts at index getHead() of the backing array and wraps
+     * around its end.
+     *
      * @return the backing array of the list
      */
     public T[] getBackingArray() {
@@ -246,6 +399,13 @@ public class ArrayList<T> {
         return backingArray;
     }
 
+    /**
+     * @return the index of the backing array holding the front of the list
+     */
+    public int getHead() {
+        return head;
+    }
+
     /**
      * @return the size of the list
      */
@@ -253,4 +413,202 @@ public class ArrayList<T> {
         
         return size;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the slot of the backing array holding the element at index.
+     *
+     * @param index an index less than the length of the backing array
+     * @return the physical index
+     */
+    private int physicalIndex(int index) {
+        int i = head + index;
+        return i >= backingArray.length ? i - backingArray.length : i;
+    }
+
+    /**
+     * Copies the list to the front of a new backing array, unwrapping it.
+     *
+     * @param length the length of the new backing array, at least size
+     */
+    private void resize(int length) {
+        resize(length, size, 0);
+    }
+
+    /**
+     * Copies the list to the front of a new backing array, unwrapping it
+     * and leaving empty slots before the element at gapIndex.
+     *
+     * @param length    the length of the new backing array, at least size
+     *                  plus gapLength
+     * @param gapIndex  the index of the first element after the gap
+     * @param gapLength the number of empty slots to leave
+     */
+    private void resize(int length, int gapIndex, int gapLength) {
+        Object[] arr = new Object[length];
+        copyOut(0, arr, 0, gapIndex);
+        copyOut(gapIndex, arr, gapIndex + gapLength, size - gapIndex);
+        backingArray = (T[]) arr;
+        head = 0;
+    }
+
+    /**
+     * Copies count elements of the list, starting at index, into dest.
+     *
+     * @param index   the index of the first element to copy
+     * @param dest    the array to copy into
+     * @param destPos the position of the first copy in dest
+     * @param count   the number of elements to copy
+     */
+    private void copyOut(int index, Object[] dest, int destPos, int count) {
+        int start = physicalIndex(index);
+        int firstPart = Math.min(count, backingArray.length - start);
+        System.arraycopy(backingArray, start, dest, destPos, firstPart);
+        System.arraycopy(backingArray, 0, dest, destPos + firstPart, count - firstPart);
+    }
+
+    /**
+     * Moves count elements from index from to index to within the backing
+     * array. The ranges may overlap, and either may wrap, so the copy is
+     * split wherever one of them wraps and the pieces are copied in the
+     * order that reads every element before it is overwritten.
+     *
+     * @param from  the index of the first element to move
+     * @param to    the index to move it to
+     * @param count the number of elements to move
+     */
+    private void move(int from, int to, int count) {
+        if (to < from) {
+            while (count > 0) {
+                int src = physicalIndex(from);
+                int dest = physicalIndex(to);
+                int chunk = Math.min(count, backingArray.length - Math.max(src, dest));
+                System.arraycopy(backingArray, src, backingArray, dest, chunk);
+                from += chunk;
+                to += chunk;
+                count -= chunk;
+            }
+        } else {
+            while (count > 0) {
+                int srcEnd = physicalIndex(from + count - 1) + 1;
+                int destEnd = physicalIndex(to + count - 1) + 1;
+                int chunk = Math.min(count, Math.min(srcEnd, destEnd));
+                System.arraycopy(backingArray, srcEnd - chunk, backingArray, destEnd - chunk, chunk);
+                count -= chunk;
+            }
+        }
+    }
+
+    /**
+     * Nulls count slots of the backing array, starting at the slot of
+     * index, so the removed elements can be collected.
+     *
+     * @param index the index of the first slot to clear
+     * @param count the number of slots to clear
+     */
+    private void clearSlots(int index, int count) {
+        int start = physicalIndex(index);
+        int firstPart = Math.min(count, backingArray.length - start);
+        Arrays.fill(backingArray, start, start + firstPart, null);
+        Arrays.fill(backingArray, 0, count - firstPart, null);
+    }
+
+    /**
+     * Spliterator over a range of indices of the backing array as it was
+     * when the spliterator was created. Splits the range in half.
+     */
+    private final class ArraySpliterator implements Spliterator<T> {
+
+        private final T[] arr;
+        private final int arrHead;
+        private final int expectedModCount;
+        private int index;
+        private final int fence;
+
+        /**
+         * Constructs a new ArraySpliterator over the whole list.
+         */
+        ArraySpliterator() {
+            this.arr = backingArray;
+            this.arrHead = head;
+            this.expectedModCount = modCount;
+            this.index = 0;
+            this.fence = size;
+        }
+
+        /**
+         * Constructs a new ArraySpliterator over part of another one's range.
+         *
+         * @param parent the spliterator being split
+         * @param index  the first index
+         * @param fence  one past the last index
+         */
+        private ArraySpliterator(ArraySpliterator parent, int index, int fence) {
+            this.arr = parent.arr;
+            this.arrHead = parent.arrHead;
+            this.expectedModCount = parent.expectedModCount;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (index >= fence) {
+                return false;
+            }
+            int i = arrHead + index;
+            index++;
+            action.accept(arr[i >= arr.length ? i - arr.length : i]);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            // at most two runs of the backing array, split where it wraps
+            int start = arrHead + index;
+            if (start >= arr.length) {
+                start -= arr.length;
+            }
+            int firstPart = Math.min(fence - index, arr.length - start);
+            for (int i = start; i < start + firstPart; i++) {
+                action.accept(arr[i]);
+            }
+            for (int i = 0; i < fence - index - firstPart; i++) {
+                action.accept(arr[i]);
+            }
+            index = fence;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (mid <= index) {
+                return null;
+            }
+            ArraySpliterator prefix = new ArraySpliterator(this, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package datastructures.arraylist;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of an ArrayList of ints.
+ *
+ * The same list as ArrayList, but backed by an int[], so the elements are
+ * neither boxed on the way in nor unboxed on the way out, and each takes 4
+ * bytes instead of a reference to a 16 byte Integer.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class IntArrayList {
+
+    /*
+     * The initial capacity of the IntArrayList.
+     */
+    public static final int INITIAL_CAPACITY = 9;
+
+    private int[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a new IntArrayList.
+     */
+    public IntArrayList() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Adds the data to the specified index.
+     *
+     * @param index the index at which to add the new data
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     */
+    public void addAtIndex(int index, int data) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index > size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size. "
+                    + "Please enter an index less than or equal to the size of the ArrayList.");
+        }
+        if (size == backingArray.length) {
+            int[] oldArray = backingArray;
+            backingArray = new int[size * 2];
+            System.arraycopy(oldArray, 0, backingArray, 0, index);
+            System.arraycopy(oldArray, index, backingArray, index + 1, size - index);
+        } else {
+            System.arraycopy(backingArray, index, backingArray, index + 1, size - index);
+        }
+        backingArray[index] = data;
+        size++;
+    }
+
+    /**
+     * Adds the data to the front of the list.
+     *
+     * @param data the data to add to the front of the list
+     */
+    public void addToFront(int data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Adds the data to the back of the list.
+     *
+     * @param data the data to add to the back of the list
+     */
+    public void addToBack(int data) {
+        if (size == backingArray.length) {
+            backingArray = Arrays.copyOf(backingArray, size * 2);
+        }
+        backingArray[size] = data;
+        size++;
+    }
+
+    /**
+     * Adds every element of the array to the back of the list, growing the
+     * backing array at most once.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addAll(int[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        if (size + data.length > backingArray.length) {
+            backingArray = Arrays.copyOf(backingArray, Math.max(size + data.length, backingArray.length * 2));
+        }
+        System.arraycopy(data, 0, backingArray, size, data.length);
+        size += data.length;
+    }
+
+    /**
+     * Removes and returns the data at the specified index.
+     *
+     * @param index the index of the data to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public int removeAtIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        int oldData = backingArray[index];
+        size--;
+        System.arraycopy(backingArray, index + 1, backingArray, index, size - index);
+        return oldData;
+    }
+
+    /**
+     * Removes and returns the first data of the list.
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromFront() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The list is empty."
+                    + " Please add elements to the list before attempting to remove.");
+        }
+        return removeAtIndex(0);
+    }
+
+    /**
+     * Removes and returns the last data of the list.
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public int removeFromBack() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The list is empty."
+                    + " Please add elements to the list before attempting to remove.");
+        }
+        size--;
+        return backingArray[size];
+    }
+
+    /**
+     * Returns the data at the specified index.
+     *
+     * @param index the index of the data to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public int get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        return backingArray[index];
+    }
+
+    /**
+     * Returns a copy of the elements of the list, in order.
+     *
+     * @return an array of length size
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(backingArray, size);
+    }
+
+    /**
+     * Sorts the list in ascending order.
+     */
+    public void sort() {
+        Arrays.sort(backingArray, 0, size);
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     */
+    public void clear() {
+        backingArray = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * @return the backing array of the list
+     */
+    public int[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,451 @@
+package datastructures.arraylist;
+
+import datastructures.util.DirectBuffers;
+import datastructures.util.FileLocks;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of an ArrayList of longs kept outside the Java heap.
+ *
+ * The elements live in chunks of CHUNK_LONGS longs, each a direct buffer
+ * or a mapping of a file, found through a directory of chunks, so indices
+ * are longs and the list can hold far more than 2^31 elements. The garbage
+ * collector only ever sees the directory. A list in memory starts with one
+ * small chunk that doubles until it reaches CHUNK_LONGS, then grows a
+ * chunk at a time without copying. Removing from the back releases chunks
+ * as they empty, keeping one spare.
+ *
+ * A list opened on a file keeps its elements in the file, after a 64 byte
+ * header holding the size, and can be opened again later. The header is
+ * only written by flush and close.
+ *
+ * The memory is released by close, after which the list cannot be used.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class OffHeapLongArrayList implements AutoCloseable {
+
+    /*
+     * The initial capacity of a list in memory.
+     */
+    public static final int INITIAL_CAPACITY = 1 << 10;
+
+    /*
+     * The number of longs per chunk.
+     */
+    public static final int CHUNK_LONGS = 1 << 20;
+
+    private static final int CHUNK_SHIFT = 20;
+    private static final int CHUNK_MASK = CHUNK_LONGS - 1;
+    private static final int CHUNK_BYTES = CHUNK_LONGS * Long.BYTES;
+
+    private static final long MAGIC = 0x4F484C4C49535431L;
+    private static final int HEADER = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_SIZE = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private MappedByteBuffer header;
+
+    private ByteBuffer[] buffers;
+    private LongBuffer[] chunks;
+    private int chunkCount;
+    private long capacity;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Constructs a new OffHeapLongArrayList in memory.
+     */
+    public OffHeapLongArrayList() {
+        file = null;
+        channel = null;
+        lock = null;
+        buffers = new ByteBuffer[1];
+        chunks = new LongBuffer[1];
+        setChunk(0, DirectBuffers.allocate(INITIAL_CAPACITY * Long.BYTES));
+        chunkCount = 1;
+        capacity = INITIAL_CAPACITY;
+        size = 0;
+    }
+
+    /**
+     * Opens the list stored in path, or creates an empty one if the file
+     * does not exist or is empty. No other process may have the file open.
+     *
+     * @param path the file
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or written, or is not a list
+     * @throws java.lang.IllegalArgumentException if path is null
+     * @throws java.lang.IllegalStateException    if another process, or
+     *                                            another open instance in
+     *                                            this one, has the file open
+     */
+    public OffHeapLongArrayList(Path path) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("The path you entered is null. Please enter an existing path");
+        }
+        file = FileLocks.claim(path);
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException | RuntimeException e) {
+            FileLocks.release(file);
+            throw e;
+        }
+        try {
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                throw new IllegalStateException("The file is already open in this process.");
+            }
+            if (lock == null) {
+                throw new IllegalStateException("The file is open in another process.");
+            }
+            boolean created = channel.size() == 0;
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            header.order(ByteOrder.nativeOrder());
+            if (created) {
+                header.putLong(H_MAGIC, MAGIC);
+                header.putLong(H_SIZE, 0);
+            } else if (header.getLong(H_MAGIC) != MAGIC) {
+                throw new IOException(path + " is not a list written by this version.");
+            }
+            long stored = header.getLong(H_SIZE);
+            if (stored < 0 || channel.size() < HEADER + stored * Long.BYTES) {
+                throw new IOException(path + " is truncated or its header is damaged.");
+            }
+            buffers = new ByteBuffer[1];
+            chunks = new LongBuffer[1];
+            chunkCount = 0;
+            capacity = 0;
+            ensureCapacity(stored);
+            size = stored;
+        } catch (IOException | RuntimeException e) {
+            release();
+            channel.close();
+            FileLocks.release(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the data to the back of the list.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalStateException if the list is closed
+     * @throws java.io.UncheckedIOException    if the file cannot grow
+     */
+    public void addToBack(long data) {
+        checkOpen();
+        if (size == capacity) {
+            ensureCapacity(size + 1);
+        }
+        chunks[(int) (size >>> CHUNK_SHIFT)].put((int) (size & CHUNK_MASK), data);
+        size++;
+    }
+
+    /**
+     * Adds every element of the array to the back of the list, with one
+     * bulk copy per chunk.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.IllegalStateException    if the list is closed
+     * @throws java.io.UncheckedIOException       if the file cannot grow
+     */
+    public void addAll(long[] data) {
+        checkOpen();
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        ensureCapacity(size + data.length);
+        int copied = 0;
+        while (copied < data.length) {
+            int offset = (int) (size & CHUNK_MASK);
+            int count = Math.min(data.length - copied, CHUNK_LONGS - offset);
+            chunks[(int) (size >>> CHUNK_SHIFT)].put(offset, data, copied, count);
+            copied += count;
+            size += count;
+        }
+    }
+
+    /**
+     * Removes and returns the last data of the list.
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     * @throws java.lang.IllegalStateException  if the list is closed
+     */
+    public long removeFromBack() {
+        checkOpen();
+        if (size == 0) {
+            throw new NoSuchElementException("The list is empty."
+                    + " Please add elements to the list before attempting to remove.");
+        }
+        size--;
+        long oldData = chunks[(int) (size >>> CHUNK_SHIFT)].get((int) (size & CHUNK_MASK));
+        releaseChunks();
+        return oldData;
+    }
+
+    /**
+     * Returns the data at the specified index.
+     *
+     * @param index the index of the data to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     * @throws java.lang.IllegalStateException     if the list is closed
+     */
+    public long get(long index) {
+        checkIndex(index);
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    /**
+     * Replaces the data at the specified index.
+     *
+     * @param index the index of the data to replace
+     * @param data  the new data
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     * @throws java.lang.IllegalStateException     if the list is closed
+     */
+    public void set(long index, long data) {
+        checkIndex(index);
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), data);
+    }
+
+    /**
+     * Copies length elements, starting at index from, into dest, with one
+     * bulk copy per chunk.
+     *
+     * @param from    the index of the first element to copy
+     * @param dest    the array to copy into
+     * @param destPos the position of the first copy in dest
+     * @param length  the number of elements to copy
+     * @throws java.lang.IllegalArgumentException  if dest is null
+     * @throws java.lang.IndexOutOfBoundsException if the range is outside
+     *                                             the list or dest
+     * @throws java.lang.IllegalStateException     if the list is closed
+     */
+    public void copyTo(long from, long[] dest, int destPos, int length) {
+        checkOpen();
+        if (dest == null) {
+            throw new IllegalArgumentException("The destination you entered is null."
+                    + " Please enter an existing array.");
+        }
+        if (from < 0 || length < 0 || from > size - length || destPos < 0 || destPos > dest.length - length) {
+            throw new IndexOutOfBoundsException("The range you input is outside the list or the destination."
+                    + " Please enter a range within both.");
+        }
+        int copied = 0;
+        while (copied < length) {
+            long index = from + copied;
+            int offset = (int) (index & CHUNK_MASK);
+            int count = Math.min(length - copied, CHUNK_LONGS - offset);
+            chunks[(int) (index >>> CHUNK_SHIFT)].get(offset, dest, destPos + copied, count);
+            copied += count;
+        }
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list, releasing all but one chunk.
+     *
+     * @throws java.lang.IllegalStateException if the list is closed
+     */
+    public void clear() {
+        checkOpen();
+        size = 0;
+        releaseChunks();
+    }
+
+    /**
+     * Writes the size to the header and forces every change made so far to
+     * the disk. Does nothing for a list in memory.
+     *
+     * @throws java.lang.IllegalStateException if the list is closed
+     */
+    public void flush() {
+        checkOpen();
+        if (channel == null) {
+            return;
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            ((MappedByteBuffer) buffers[i]).force();
+        }
+        header.putLong(H_SIZE, size);
+        header.force();
+    }
+
+    /**
+     * Releases the memory of the list. A list on a file is flushed first,
+     * and the file is cut down to the elements. The list cannot be used
+     * afterwards. Closing twice does nothing.
+     *
+     * @throws java.io.IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        release();
+        if (channel != null) {
+            try {
+                channel.truncate(HEADER + size * Long.BYTES);
+                channel.close();
+            } finally {
+                FileLocks.release(file);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes of memory the chunks take.
+     *
+     * @return the off-heap footprint in bytes
+     */
+    public long offHeapBytes() {
+        return closed ? 0 : capacity * Long.BYTES;
+    }
+
+    /**
+     * @return the size of the list
+     */
+    public long size() {
+        return closed ? 0 : size;
+    }
+
+    /**
+     * Adds chunks, or doubles the first chunk while it is the only one and
+     * still small, until there is room for minCapacity elements.
+     *
+     * @param minCapacity the number of elements to make room for
+     * @throws java.io.UncheckedIOException if the file cannot grow
+     */
+    private void ensureCapacity(long minCapacity) {
+        while (capacity < minCapacity) {
+            if (channel == null && chunkCount == 1 && capacity < CHUNK_LONGS) {
+                int length = (int) Math.min(CHUNK_LONGS, Math.max(capacity * 2, minCapacity));
+                ByteBuffer grown = DirectBuffers.allocate(length * Long.BYTES);
+                grown.put(0, buffers[0], 0, (int) size * Long.BYTES);
+                DirectBuffers.free(buffers[0]);
+                setChunk(0, grown);
+                capacity = length;
+                continue;
+            }
+            if (chunkCount == buffers.length) {
+                buffers = Arrays.copyOf(buffers, chunkCount * 2);
+                chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            }
+            if (channel == null) {
+                setChunk(chunkCount, DirectBuffers.allocate(CHUNK_BYTES));
+            } else {
+                try {
+                    setChunk(chunkCount, channel.map(FileChannel.MapMode.READ_WRITE,
+                            HEADER + (long) chunkCount * CHUNK_BYTES, CHUNK_BYTES));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            chunkCount++;
+            capacity += CHUNK_LONGS;
+        }
+    }
+
+    /**
+     * Releases the chunks beyond the one after the last element. A list in
+     * memory keeps at least its first chunk.
+     */
+    private void releaseChunks() {
+        long needed = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        int keep = (int) Math.max(needed + 1, channel == null ? 1 : 0);
+        while (chunkCount > keep) {
+            chunkCount--;
+            DirectBuffers.free(buffers[chunkCount]);
+            buffers[chunkCount] = null;
+            chunks[chunkCount] = null;
+            capacity -= CHUNK_LONGS;
+        }
+    }
+
+    /**
+     * Installs a buffer as a chunk, with its long view.
+     *
+     * @param i      the chunk index
+     * @param buffer the buffer
+     */
+    private void setChunk(int i, ByteBuffer buffer) {
+        buffer.order(ByteOrder.nativeOrder());
+        buffers[i] = buffer;
+        chunks[i] = buffer.asLongBuffer();
+    }
+
+    /**
+     * Releases every chunk and the header.
+     */
+    private void release() {
+        if (buffers != null) {
+            for (int i = 0; i < chunkCount; i++) {
+                DirectBuffers.free(buffers[i]);
+            }
+            buffers = null;
+            chunks = null;
+        }
+        if (header != null) {
+            DirectBuffers.free(header);
+            header = null;
+        }
+    }
+
+    /**
+     * Checks that the list is open and index is one of its indices.
+     *
+     * @param index the index
+     */
+    private void checkIndex(long index) {
+        checkOpen();
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+    }
+
+    /**
+     * Checks that the list is open.
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The list is closed.");
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package datastructures.arraylist;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a segmented ArrayList.
+ *
+ * The elements live in fixed size chunks, found through a directory of
+ * chunk references. Element i is slot i % chunkSize of chunk i / chunkSize,
+ * both taken with a shift and a mask since the chunk size is a power of
+ * two, so get stays O(1). A full list grows by allocating one more chunk:
+ * existing elements are never copied, and only the directory, one
+ * reference per chunk, is ever reallocated. This also means no single
+ * allocation is larger than a chunk or the directory, however long the
+ * list. Removing from the back releases chunks as they empty, keeping one
+ * spare so a list hovering at a chunk boundary does not reallocate.
+ *
+ * Adding or removing anywhere but the back shifts every later element by
+ * one slot, across chunks, as in ArrayList.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class SegmentedArrayList<T> {
+
+    /*
+     * The number of elements per chunk when created with the default
+     * constructor.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 12;
+
+    private T[][] chunks;
+    private int chunkCount;
+    private final int shift;
+    private final int mask;
+    private int size;
+
+    /**
+     * Constructs a new SegmentedArrayList.
+     */
+    public SegmentedArrayList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a new SegmentedArrayList.
+     *
+     * @param chunkSize the number of elements per chunk, rounded up to a
+     *                  power of two
+     * @throws java.lang.IllegalArgumentException if chunkSize is not
+     *                                            positive or over 2^30
+     */
+    public SegmentedArrayList(int chunkSize) {
+        if (chunkSize <= 0 || chunkSize > 1 << 30) {
+            throw new IllegalArgumentException("The chunk size is out of range."
+                    + " Please enter a chunk size from 1 to 2^30.");
+        }
+        shift = 32 - Integer.numberOfLeadingZeros(chunkSize - 1);
+        mask = (1 << shift) - 1;
+        clear();
+    }
+
+    /**
+     * Adds the data to the specified index.
+     *
+     * @param index the index at which to add the new data
+     * @param data  the data to add at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index > size
+     * @throws java.lang.IllegalArgumentException  if data is null
+     */
+    public void addAtIndex(int index, T data) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index > size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size. "
+                    + "Please enter an index less than or equal to the size of the ArrayList.");
+        }
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        ensureRoom();
+        shiftRight(index);
+        chunks[index >>> shift][index & mask] = data;
+        size++;
+    }
+
+    /**
+     * Adds the data to the front of the list.
+     *
+     * @param data the data to add to the front of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToFront(T data) {
+        addAtIndex(0, data);
+    }
+
+    /**
+     * Adds the data to the back of the list.
+     *
+     * @param data the data to add to the back of the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void addToBack(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        ensureRoom();
+        chunks[size >>> shift][size & mask] = data;
+        size++;
+    }
+
+    /**
+     * Removes and returns the data at the specified index.
+     *
+     * @param index the index of the data to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T removeAtIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        T oldData = chunks[index >>> shift][index & mask];
+        shiftLeft(index);
+        size--;
+        releaseChunks();
+        return oldData;
+    }
+
+    /**
+     * Removes and returns the first data of the list.
+     *
+     * @return the data formerly located at the front of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromFront() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The list is empty."
+                    + " Please add elements to the list before attempting to remove.");
+        }
+        return removeAtIndex(0);
+    }
+
+    /**
+     * Removes and returns the last data of the list.
+     *
+     * @return the data formerly located at the back of the list
+     * @throws java.util.NoSuchElementException if the list is empty
+     */
+    public T removeFromBack() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("The list is empty."
+                    + " Please add elements to the list before attempting to remove.");
+        }
+        size--;
+        T[] chunk = chunks[size >>> shift];
+        T oldData = chunk[size & mask];
+        chunk[size & mask] = null;
+        releaseChunks();
+        return oldData;
+    }
+
+    /**
+     * Returns the data at the specified index.
+     *
+     * @param index the index of the data to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        return chunks[index >>> shift][index & mask];
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list, releasing every chunk.
+     */
+    public void clear() {
+        Object[][] arr = new Object[1][];
+        chunks = (T[][]) arr;
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * @return the number of elements per chunk
+     */
+    public int getChunkSize() {
+        return mask + 1;
+    }
+
+    /**
+     * @return the number of chunks allocated
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Allocates one more chunk if every slot is taken, doubling the
+     * directory if it is full.
+     */
+    private void ensureRoom() {
+        if (size < (long) chunkCount << shift) {
+            return;
+        }
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("The list is full. It cannot hold more than 2^31 - 1 elements.");
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        Object[] arr = new Object[mask + 1];
+        chunks[chunkCount] = (T[]) arr;
+        chunkCount++;
+    }
+
+    /**
+     * Releases the chunks beyond the one after the last element, and halves
+     * the directory once it is a quarter full.
+     */
+    private void releaseChunks() {
+        int needed = (int) (((long) size + mask) >>> shift);
+        while (chunkCount > needed + 1) {
+            chunkCount--;
+            chunks[chunkCount] = null;
+        }
+        if (chunkCount < chunks.length / 4) {
+            chunks = Arrays.copyOf(chunks, chunks.length / 2);
+        }
+    }
+
+    /**
+     * Moves the elements from index to the back one slot towards the back.
+     * The slot at size must exist.
+     *
+     * @param index the index of the first element to move
+     */
+    private void shiftRight(int index) {
+        int lastChunk = size >>> shift;
+        int firstChunk = index >>> shift;
+        for (int c = lastChunk; c > firstChunk; c--) {
+            T[] chunk = chunks[c];
+            int end = c == lastChunk ? size & mask : mask;
+            System.arraycopy(chunk, 0, chunk, 1, end);
+            chunk[0] = chunks[c - 1][mask];
+        }
+        T[] chunk = chunks[firstChunk];
+        int from = index & mask;
+        int end = firstChunk == lastChunk ? size & mask : mask;
+        System.arraycopy(chunk, from, chunk, from + 1, end - from);
+    }
+
+    /**
+     * Moves the elements after index one slot towards the front,
+     * overwriting the element at index, and clears the last slot.
+     *
+     * @param index the index of the element to overwrite
+     */
+    private void shiftLeft(int index) {
+        int last = size - 1;
+        int lastChunk = last >>> shift;
+        int firstChunk = index >>> shift;
+        T[] chunk = chunks[firstChunk];
+        int from = index & mask;
+        int end = firstChunk == lastChunk ? last & mask : mask;
+        System.arraycopy(chunk, from + 1, chunk, from, end - from);
+        for (int c = firstChunk + 1; c <= lastChunk; c++) {
+            chunks[c - 1][mask] = chunks[c][0];
+            System.arraycopy(chunks[c], 1, chunks[c], 0, c == lastChunk ? last & mask : mask);
+        }
+        chunks[lastChunk][last & mask] = null;
+    }
+}
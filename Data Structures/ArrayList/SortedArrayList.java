@@ -0,0 +1,409 @@
+package datastructures.arraylist;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+/**
+ * My implementation of a sorted ArrayList.
+ *
+ * The elements are kept in the order of a Comparator, so finding one is a
+ * binary search, O(log n), instead of a scan. insertSorted binary searches
+ * for the position and then shifts the elements after it with a single
+ * System.arraycopy. Elements that compare equal keep their insertion
+ * order.
+ *
+ * addAllSorted merges an already sorted batch in O(n + m): it grows the
+ * backing array at most once and fills it from the back, so no element is
+ * moved more than once.
+ *
+ * subRange returns a view of the elements between two values. The view
+ * finds its bounds again on every call, so it follows later changes to
+ * the list.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class SortedArrayList<T> {
+
+    /*
+     * The initial capacity of the SortedArrayList.
+     */
+    public static final int INITIAL_CAPACITY = 9;
+
+    private final Comparator<? super T> comparator;
+    private T[] backingArray;
+    private int size;
+
+    /**
+     * Constructs a new SortedArrayList.
+     *
+     * @param comparator the order to keep the elements in
+     * @throws java.lang.IllegalArgumentException if comparator is null
+     */
+    public SortedArrayList(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("The comparator you entered is null. Please input a comparator.");
+        }
+        this.comparator = comparator;
+        Object[] arr = new Object[INITIAL_CAPACITY];
+        backingArray = (T[]) arr;
+        size = 0;
+    }
+
+    /**
+     * Searches for the data. If several elements compare equal to it, the
+     * index of the first is returned.
+     *
+     * @param data the data to search for
+     * @return the index of the data if it is in the list, otherwise
+     *         (-(insertion point) - 1), where the insertion point is the
+     *         index of the first element greater than the data
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public int binarySearch(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        int index = lowerBound(data);
+        if (index < size && comparator.compare(backingArray[index], data) == 0) {
+            return index;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * Returns whether or not the list holds an element that compares equal
+     * to the data.
+     *
+     * @param data the data to search for
+     * @return true if found, false otherwise
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean contains(T data) {
+        return binarySearch(data) >= 0;
+    }
+
+    /**
+     * Adds the data in sorted order, after any elements that compare equal
+     * to it.
+     *
+     * @param data the data to add
+     * @return the index the data was added at
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public int insertSorted(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        int index = upperBound(data);
+        // resize case
+        if (size == backingArray.length) {
+            backingArray = Arrays.copyOf(backingArray, size * 2);
+        }
+        System.arraycopy(backingArray, index, backingArray, index + 1, size - index);
+        backingArray[index] = data;
+        size++;
+        return index;
+    }
+
+    /**
+     * Merges a batch that is already sorted by the list's comparator into
+     * the list. Elements of the batch go after elements of the list that
+     * compare equal to them.
+     *
+     * @param batch the sorted data to add
+     * @throws java.lang.IllegalArgumentException if batch or any of its
+     *                                            elements is null, or if
+     *                                            batch is not sorted
+     */
+    public void addAllSorted(T[] batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        for (int j = 0; j < batch.length; j++) {
+            if (batch[j] == null) {
+                throw new IllegalArgumentException("The data you entered contains null. Please input existing data.");
+            }
+            if (j > 0 && comparator.compare(batch[j - 1], batch[j]) > 0) {
+                throw new IllegalArgumentException("The data you entered is not sorted."
+                        + " Please sort it by the list's comparator first.");
+            }
+        }
+        int count = batch.length;
+        if (count == 0) {
+            return;
+        }
+        T[] source = backingArray;
+        // resize case, merging straight into the new array
+        if (size + count > backingArray.length) {
+            Object[] arr = new Object[Math.max(size + count, backingArray.length * 2)];
+            backingArray = (T[]) arr;
+        }
+        int i = size - 1;
+        int j = count - 1;
+        for (int k = size + count - 1; j >= 0; k--) {
+            if (i >= 0 && comparator.compare(source[i], batch[j]) > 0) {
+                backingArray[k] = source[i--];
+            } else {
+                backingArray[k] = batch[j--];
+            }
+        }
+        // the elements before the first batch element are where they were
+        if (source != backingArray) {
+            System.arraycopy(source, 0, backingArray, 0, i + 1);
+        }
+        size += count;
+    }
+
+    /**
+     * Removes and returns the first element that compares equal to the
+     * data.
+     *
+     * @param data the data to remove
+     * @return the data removed from the list
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.util.NoSuchElementException   if no element compares equal
+     *                                            to the data
+     */
+    public T remove(T data) {
+        int index = binarySearch(data);
+        if (index < 0) {
+            throw new NoSuchElementException("The data you entered is not in the list."
+                    + " Please enter data that is in the list.");
+        }
+        return removeAtIndex(index);
+    }
+
+    /**
+     * Removes and returns the data at the specified index.
+     *
+     * @param index the index of the data to remove
+     * @return the data formerly located at the specified index
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T removeAtIndex(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        T oldData = backingArray[index];
+        System.arraycopy(backingArray, index + 1, backingArray, index, size - index - 1);
+        size--;
+        backingArray[size] = null;
+        return oldData;
+    }
+
+    /**
+     * Returns the data at the specified index.
+     *
+     * @param index the index of the data to get
+     * @return the data stored at the index in the list
+     * @throws java.lang.IndexOutOfBoundsException if index < 0 or index >= size
+     */
+    public T get(int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("The index you input is less than 0."
+                    + " Please enter an index greater than or equal to 0.");
+        } else if (index >= size) {
+            throw new IndexOutOfBoundsException("The index you input is greater than the ArrayList size."
+                    + " Please enter an index less than the size of the ArrayList.");
+        }
+        return backingArray[index];
+    }
+
+    /**
+     * Returns a view of the elements from the value from, inclusive, to the
+     * value to, exclusive.
+     *
+     * @param from the lowest value in the range
+     * @param to   the value after the highest in the range
+     * @return the view of the range
+     * @throws java.lang.IllegalArgumentException if from or to is null, or
+     *                                            if from is greater than to
+     */
+    public Range subRange(T from, T to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("The data you entered is null. Please input existing data.");
+        }
+        if (comparator.compare(from, to) > 0) {
+            throw new IllegalArgumentException("The from value you input is greater than the to value."
+                    + " Please enter a from value less than or equal to the to value.");
+        }
+        return new Range(from, to);
+    }
+
+    /**
+     * @return the comparator the list is sorted by
+     */
+    public Comparator<? super T> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Returns whether or not the list is empty.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Clears the list.
+     */
+    public void clear() {
+        Object[] arr = new Object[INITIAL_CAPACITY];
+        backingArray = (T[]) arr;
+        size = 0;
+    }
+
+    /**
+     * @return the backing array of the list
+     */
+    public T[] getBackingArray() {
+        return backingArray;
+    }
+
+    /**
+     * @return the size of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first element not less than the data.
+     *
+     * @param data the data to search for
+     * @return the index, size if every element is less
+     */
+    private int lowerBound(T data) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(backingArray[mid], data) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element greater than the data.
+     *
+     * @param data the data to search for
+     * @return the index, size if no element is greater
+     */
+    private int upperBound(T data) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(backingArray[mid], data) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * A view of the elements of the list between two values. Each call
+     * binary searches the list for the bounds, so the view sees changes
+     * made to the list after it was created.
+     */
+    public final class Range {
+
+        private final T from;
+        private final T to;
+
+        /**
+         * Constructs a new Range.
+         *
+         * @param from the lowest value in the range
+         * @param to   the value after the highest in the range
+         */
+        private Range(T from, T to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Returns the data at the specified index of the range.
+         *
+         * @param index the index of the data within the range
+         * @return the data stored at the index in the range
+         * @throws java.lang.IndexOutOfBoundsException if index < 0 or
+         *                                             index >= size
+         */
+        public T get(int index) {
+            int start = fromIndex();
+            if (index < 0) {
+                throw new IndexOutOfBoundsException("The index you input is less than 0."
+                        + " Please enter an index greater than or equal to 0.");
+            } else if (index >= lowerBound(to) - start) {
+                throw new IndexOutOfBoundsException("The index you input is greater than the range size."
+                        + " Please enter an index less than the size of the range.");
+            }
+            return backingArray[start + index];
+        }
+
+        /**
+         * @return the index in the list of the first element in the range
+         */
+        public int fromIndex() {
+            return lowerBound(from);
+        }
+
+        /**
+         * @return the index in the list after the last element in the range
+         */
+        public int toIndex() {
+            return lowerBound(to);
+        }
+
+        /**
+         * Returns whether or not the range is empty.
+         *
+         * @return true if empty, false otherwise
+         */
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        /**
+         * @return the number of elements in the range
+         */
+        public int size() {
+            return lowerBound(to) - lowerBound(from);
+        }
+
+        /**
+         * Copies the elements in the range into a new array, in order.
+         *
+         * @return the elements in the range
+         */
+        public Object[] toArray() {
+            return Arrays.copyOfRange(backingArray, fromIndex(), toIndex(), Object[].class);
+        }
+
+        /**
+         * Returns a sequential stream over the elements in the range. The
+         * list must not be changed while the stream runs.
+         *
+         * @return the stream
+         */
+        public Stream<T> stream() {
+            return Arrays.stream(backingArray, fromIndex(), toIndex());
+        }
+    }
+}
@@ -1,3 +1,5 @@
+package datastructures.bst;
+
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.ArrayList;
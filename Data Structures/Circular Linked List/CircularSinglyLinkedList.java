@@ -1,15 +1,40 @@
+package datastructures.circularlinkedlist;
+
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * My implementation of a CircularSinglyLinkedList without a tail pointer.
  *
+ * A list cannot be split in the middle without walking to it, so the
+ * spliterator behind stream and parallelStream splits by copying a batch
+ * off the front into an array, each batch larger than the last, while it
+ * walks. It fails fast if the list changes under it.
+ *
  * @author Ian Andrew McLeod
  * @version 1.0
  */
 public class CircularSinglyLinkedList<T> {
 
+    /*
+     * The size of the first batch the spliterator splits off, and the
+     * amount each later batch grows by.
+     */
+    private static final int BATCH_UNIT = 1 << 10;
+
+    /*
+     * The largest batch the spliterator splits off.
+     */
+    private static final int MAX_BATCH = 1 << 25;
+
     private CircularSinglyLinkedListNode<T> head;
     private int size;
+    private int modCount;
 
     /**
      * Adds the data to the specified index.
@@ -36,6 +61,7 @@ public class CircularSinglyLinkedList<T> {
             head = new CircularSinglyLinkedListNode<>(data);
             head.setNext(head);
             size++;
+            modCount++;
             return;
         }
         // O(1) addToFront
@@ -53,6 +79,7 @@ public class CircularSinglyLinkedList<T> {
             CircularSinglyLinkedListNode<T> newNode = new CircularSinglyLinkedListNode<>(data, temp.getNext());
             temp.setNext(newNode);
             size++;
+            modCount++;
         }
 
     }
@@ -72,6 +99,7 @@ public class CircularSinglyLinkedList<T> {
             head = new CircularSinglyLinkedListNode<>(data);
             head.setNext(head);
             size++;
+            modCount++;
             return;
         }
         // O(1)
@@ -79,6 +107,7 @@ public class CircularSinglyLinkedList<T> {
         head.setNext(copyNode);
         head.setData(data);
         size++;
+        modCount++;
 
     }
 
@@ -97,6 +126,7 @@ public class CircularSinglyLinkedList<T> {
             head = new CircularSinglyLinkedListNode<>(data);
             head.setNext(head);
             size++;
+            modCount++;
             return;
         }
         // O(1)
@@ -105,6 +135,7 @@ public class CircularSinglyLinkedList<T> {
         head.setData(data);
         head = copyNode;
         size++;
+        modCount++;
 
     }
 
@@ -141,6 +172,7 @@ public class CircularSinglyLinkedList<T> {
             CircularSinglyLinkedListNode<T> removedNode = temp.getNext();
             temp.setNext(removedNode.getNext());
             size--;
+            modCount++;
             return removedNode.getData();
         }
 
@@ -161,6 +193,7 @@ public class CircularSinglyLinkedList<T> {
             CircularSinglyLinkedListNode<T> temp = head;
             head = null;
             size--;
+            modCount++;
             return temp.getData();
         } else {
             CircularSinglyLinkedListNode<T> tempNode = head.getNext();
@@ -168,6 +201,7 @@ public class CircularSinglyLinkedList<T> {
             head.setNext(tempNode.getNext());
             head.setData(tempNode.getData());
             size--;
+            modCount++;
             return returnedNode.getData();
         }
 
@@ -188,6 +222,7 @@ public class CircularSinglyLinkedList<T> {
             CircularSinglyLinkedListNode<T> oldHead = head;
             head = null;
             size--;
+            modCount++;
             return oldHead.getData();
         }
         // O(n)
@@ -198,6 +233,7 @@ public class CircularSinglyLinkedList<T> {
         CircularSinglyLinkedListNode<T> oldNode = temp.getNext();
         temp.setNext(head);
         size--;
+        modCount++;
         return oldNode.getData();
     }
 
@@ -246,6 +282,7 @@ public class CircularSinglyLinkedList<T> {
     public void clear() {
         head = null;
         size = 0;
+        modCount++;
     }
 
     /**
@@ -297,6 +334,33 @@ public class CircularSinglyLinkedList<T> {
         return myArr;
     }
 
+    /**
+     * Returns a spliterator over the elements of the list, in order.
+     *
+     * @return the spliterator
+     */
+    public Spliterator<T> spliterator() {
+        return new BatchSpliterator();
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the list.
+     *
+     * @return the stream
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the elements of the list.
+     *
+     * @return the stream
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
     /**
      * Returns the head node of the list.
      *
@@ -314,4 +378,92 @@ public class CircularSinglyLinkedList<T> {
     public int size() {
         return size;
     }
+
+    /**
+     * Spliterator over the nodes of the list from some node on. Splits off
+     * a batch of the elements ahead of it, copied into an array.
+     */
+    private final class BatchSpliterator implements Spliterator<T> {
+
+        private final int expectedModCount;
+        private CircularSinglyLinkedListNode<T> current;
+        private int remaining;
+        private int batch;
+
+        /**
+         * Constructs a new BatchSpliterator over the whole list.
+         */
+        BatchSpliterator() {
+            this.expectedModCount = modCount;
+            this.current = head;
+            this.remaining = size;
+            this.batch = 0;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            if (remaining == 0) {
+                return false;
+            }
+            T data = current.getData();
+            current = current.getNext();
+            remaining--;
+            action.accept(data);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            CircularSinglyLinkedListNode<T> curr = current;
+            for (int i = 0; i < remaining; i++) {
+                action.accept(curr.getData());
+                curr = curr.getNext();
+            }
+            current = curr;
+            remaining = 0;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (remaining <= 1) {
+                return null;
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), remaining);
+            Object[] arr = new Object[n];
+            CircularSinglyLinkedListNode<T> curr = current;
+            for (int i = 0; i < n; i++) {
+                arr[i] = curr.getData();
+                curr = curr.getNext();
+            }
+            current = curr;
+            remaining -= n;
+            batch = n;
+            return Spliterators.spliterator(arr, 0, n, Spliterator.ORDERED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
 }
@@ -1,3 +1,5 @@
+package datastructures.circularlinkedlist;
+
 /**
  * Node class used for implementing the CircularSinglyLinkedList.
  *
@@ -0,0 +1,409 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * My implementation of a cache with a maximum total weight.
+ *
+ * Entries live in an externally chained hash table like the one of
+ * ExternalChainingHashMap, and each entry also carries the links of the
+ * eviction policy's lists, so eviction needs no second map. Whenever the
+ * total weight of the entries goes over the maximum, the policy picks
+ * entries to evict until it fits again. Every entry weighs 1 unless a
+ * weigher is given.
+ *
+ * A loader turns a miss in get into a load and put. Hits, misses and
+ * evictions are counted.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class BoundedCache<K, V> {
+
+    /*
+     * The initial capacity of the table.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the table.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    private CacheEntry<K, V>[] table;
+    private int size;
+    private long weightedSize;
+    private final long maximumWeight;
+    private final EvictionPolicy<K, V> policy;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private final Function<? super K, ? extends V> loader;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a new BoundedCache holding at most maximumSize entries,
+     * evicting the least recently used one first.
+     *
+     * @param maximumSize the maximum number of entries
+     * @throws java.lang.IllegalArgumentException if maximumSize is not
+     *                                            positive
+     */
+    public BoundedCache(long maximumSize) {
+        this(maximumSize, LruPolicy::new, (key, value) -> 1, null);
+    }
+
+    /**
+     * Constructs a new BoundedCache.
+     *
+     * @param maximumWeight the maximum total weight of the entries
+     * @param policyFactory creates the eviction policy from the maximum
+     *                      weight, for example WTinyLfuPolicy::new
+     * @param weigher       computes the weight of an entry, at least 0
+     * @param loader        computes the value of a key get misses, or null
+     *                      to make get throw on a miss
+     * @throws java.lang.IllegalArgumentException if maximumWeight is not
+     *                                            positive or policyFactory
+     *                                            or weigher is null
+     */
+    public BoundedCache(long maximumWeight, LongFunction<? extends EvictionPolicy<K, V>> policyFactory,
+                        ToIntBiFunction<? super K, ? super V> weigher, Function<? super K, ? extends V> loader) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight is not positive. Please enter a weight of at"
+                    + " least 1.");
+        }
+        if (policyFactory == null || weigher == null) {
+            throw new IllegalArgumentException("The policy factory or weigher you entered is null."
+                    + " Please enter existing data");
+        }
+        this.maximumWeight = maximumWeight;
+        this.policy = policyFactory.apply(maximumWeight);
+        this.weigher = weigher;
+        this.loader = loader;
+        CacheEntry[] arr = new CacheEntry[INITIAL_CAPACITY];
+        table = (CacheEntry<K, V>[]) arr;
+    }
+
+    /**
+     * Gets the value associated with the given key. On a miss the value is
+     * computed by the loader and added to the cache, replacing any entry the
+     * loader added for the same key while it ran.
+     *
+     * @param key the key to search for in the cache
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the
+     *                                            cache and there is no
+     *                                            loader, or the loader
+     *                                            returned null
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        if (loader == null) {
+            throw new NoSuchElementException("The key you entered is not in the cache");
+        }
+        value = loader.apply(key);
+        if (value == null) {
+            throw new NoSuchElementException("The loader has no value for the key you entered");
+        }
+        // the loader may have added the key itself, so look it up again
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Gets the value associated with the given key, without calling the
+     * loader on a miss.
+     *
+     * @param key the key to search for in the cache
+     * @return the value associated with the given key, or null if the key is
+     * not in the cache
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getIfPresent(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        int hash = Hashing.spread(key.hashCode());
+        CacheEntry<K, V> entry = findEntry(key, hash);
+        if (entry == null) {
+            missCount++;
+            policy.recordMiss(hash);
+            return null;
+        }
+        hitCount++;
+        policy.recordHit(entry);
+        return entry.getValue();
+    }
+
+    /**
+     * Adds the given key-value pair to the cache, replacing the value of an
+     * entry that already has the key, then evicts entries until the cache
+     * is within its maximum weight. The new entry itself may be evicted.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the cache. If it was,
+     * return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null or
+     *                                            the weigher returns a
+     *                                            negative weight
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        int hash = Hashing.spread(key.hashCode());
+        CacheEntry<K, V> entry = findEntry(key, hash);
+        if (entry == null) {
+            insert(key, hash, value);
+            return null;
+        }
+        V oldValue = entry.getValue();
+        int oldWeight = entry.getWeight();
+        int weight = weigh(key, value);
+        entry.setValue(value);
+        entry.setWeight(weight);
+        weightedSize += weight - oldWeight;
+        policy.recordUpdate(entry, oldWeight);
+        evict();
+        return oldValue;
+    }
+
+    /**
+     * Removes the entry with a matching key from the cache.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the
+     *                                            cache
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        CacheEntry<K, V> entry = findEntry(key, Hashing.spread(key.hashCode()));
+        if (entry == null) {
+            throw new NoSuchElementException("The key you entered is not in the cache");
+        }
+        removeEntry(entry);
+        return entry.getValue();
+    }
+
+    /**
+     * Returns whether or not the key is in the cache. Does not count as a
+     * hit or miss.
+     *
+     * @param key the key to search for in the cache
+     * @return true if the key is in the cache, false otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        return findEntry(key, Hashing.spread(key.hashCode())) != null;
+    }
+
+    /**
+     * Removes every entry. The counters keep their values.
+     */
+    public void clear() {
+        CacheEntry[] arr = new CacheEntry[INITIAL_CAPACITY];
+        table = (CacheEntry<K, V>[]) arr;
+        size = 0;
+        weightedSize = 0;
+        policy.clear();
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the entries in the cache.
+     *
+     * @return the weighted size
+     */
+    public long weightedSize() {
+        return weightedSize;
+    }
+
+    /**
+     * Returns the maximum total weight of the cache.
+     *
+     * @return the maximum weight
+     */
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the number of lookups that found their key.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find their key.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the maximum
+     * weight. Explicit removals are not counted.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that were hits.
+     *
+     * @return the hit rate, or 1.0 if there were no lookups
+     */
+    public double hitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    /**
+     * Adds a new entry, growing the table if needed, and evicts until the
+     * cache fits.
+     *
+     * @param key   the key, not in the cache
+     * @param hash  the spread hash of key
+     * @param value the value
+     */
+    private void insert(K key, int hash, V value) {
+        int weight = weigh(key, value);
+        if (size + 1 > MAX_LOAD_FACTOR * table.length) {
+            resizeBackingTable(table.length * 2);
+        }
+        int index = hash & (table.length - 1);
+        CacheEntry<K, V> entry = new CacheEntry<K, V>(key, hash, value, weight, table[index]);
+        table[index] = entry;
+        size++;
+        weightedSize += weight;
+        policy.recordInsert(entry);
+        evict();
+    }
+
+    /**
+     * Evicts the policy's victims until the total weight is at most the
+     * maximum weight.
+     */
+    private void evict() {
+        while (weightedSize > maximumWeight) {
+            removeEntry(policy.victim());
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Unlinks the entry from its chain and from the policy.
+     *
+     * @param entry an entry of the cache
+     */
+    private void removeEntry(CacheEntry<K, V> entry) {
+        int index = entry.getHash() & (table.length - 1);
+        CacheEntry<K, V> prev = null;
+        CacheEntry<K, V> curr = table[index];
+        while (curr != entry) {
+            prev = curr;
+            curr = curr.getNext();
+        }
+        if (prev == null) {
+            table[index] = entry.getNext();
+        } else {
+            prev.setNext(entry.getNext());
+        }
+        entry.setNext(null);
+        size--;
+        weightedSize -= entry.getWeight();
+        policy.recordRemove(entry);
+    }
+
+    /**
+     * Finds the entry for key.
+     *
+     * @param key  the key to search for
+     * @param hash the spread hash of key
+     * @return the entry, or null if the key is not in the cache
+     */
+    private CacheEntry<K, V> findEntry(K key, int hash) {
+        CacheEntry<K, V> curr = table[hash & (table.length - 1)];
+        while (curr != null) {
+            if (curr.getHash() == hash && curr.getKey().equals(key)) {
+                return curr;
+            }
+            curr = curr.getNext();
+        }
+        return null;
+    }
+
+    /**
+     * Rehashes every entry into a table of the given length. Entries keep
+     * their place in the policy's lists.
+     *
+     * @param length the new table length, a power of two
+     */
+    private void resizeBackingTable(int length) {
+        CacheEntry[] arr = new CacheEntry[length];
+        CacheEntry<K, V>[] newTable = (CacheEntry<K, V>[]) arr;
+        for (int i = 0; i < table.length; i++) {
+            CacheEntry<K, V> curr = table[i];
+            while (curr != null) {
+                CacheEntry<K, V> next = curr.getNext();
+                int index = curr.getHash() & (length - 1);
+                curr.setNext(newTable[index]);
+                newTable[index] = curr;
+                curr = next;
+            }
+        }
+        table = newTable;
+    }
+
+    /**
+     * Computes the weight of an entry.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return the weight
+     * @throws java.lang.IllegalArgumentException if the weigher returns a
+     *                                            negative weight
+     */
+    private int weigh(K key, V value) {
+        int weight = weigher.applyAsInt(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("The weigher returned a negative weight. Weights must be at least 0.");
+        }
+        return weight;
+    }
+}
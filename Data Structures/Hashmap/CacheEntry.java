@@ -0,0 +1,176 @@
+package datastructures.hashmap;
+
+/**
+ * Entry class used for implementing the BoundedCache.
+ *
+ * Like ExternalChainingMapEntry, every entry links to the next entry of its
+ * bucket's chain. It also carries the links of the eviction policy's
+ * access order list, so the cache needs no second structure next to the
+ * table to track recency. The hash, the before and after links and the
+ * queue number are public for EvictionPolicy implementations; the chain
+ * link, value and weight belong to the cache.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class CacheEntry<K, V> {
+
+    private final K key;
+    private final int hash;
+    private V value;
+    private int weight;
+    private CacheEntry<K, V> next;
+
+    // links and list of the eviction policy
+    private CacheEntry<K, V> before;
+    private CacheEntry<K, V> after;
+    private int queue;
+
+    /**
+     * Constructs a new CacheEntry.
+     *
+     * @param key    the key in the new entry
+     * @param hash   the spread hash of the key
+     * @param value  the value in the new entry
+     * @param weight the weight of the new entry
+     * @param next   the next entry in the external chain
+     */
+    CacheEntry(K key, int hash, V value, int weight, CacheEntry<K, V> next) {
+        this.key = key;
+        this.hash = hash;
+        this.value = value;
+        this.weight = weight;
+        this.next = next;
+    }
+
+    /**
+     * Gets the key.
+     *
+     * @return the key
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Gets the value.
+     *
+     * @return the value
+     */
+    public V getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the weight.
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the spread hash of the key.
+     *
+     * @return the hash
+     */
+    public int getHash() {
+        return hash;
+    }
+
+    /**
+     * Gets the next entry in the chain.
+     *
+     * @return the next entry
+     */
+    CacheEntry<K, V> getNext() {
+        return next;
+    }
+
+    /**
+     * Gets the previous entry in the policy's list.
+     *
+     * @return the previous entry
+     */
+    public CacheEntry<K, V> getBefore() {
+        return before;
+    }
+
+    /**
+     * Gets the following entry in the policy's list.
+     *
+     * @return the following entry
+     */
+    public CacheEntry<K, V> getAfter() {
+        return after;
+    }
+
+    /**
+     * Gets the policy list the entry is in.
+     *
+     * @return the list's number, as defined by the policy
+     */
+    public int getQueue() {
+        return queue;
+    }
+
+    /**
+     * Sets the value.
+     *
+     * @param value the new value
+     */
+    void setValue(V value) {
+        this.value = value;
+    }
+
+    /**
+     * Sets the weight.
+     *
+     * @param weight the new weight
+     */
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Sets the next entry in the chain.
+     *
+     * @param next the new next entry
+     */
+    void setNext(CacheEntry<K, V> next) {
+        this.next = next;
+    }
+
+    /**
+     * Sets the previous entry in the policy's list.
+     *
+     * @param before the new previous entry
+     */
+    public void setBefore(CacheEntry<K, V> before) {
+        this.before = before;
+    }
+
+    /**
+     * Sets the following entry in the policy's list.
+     *
+     * @param after the new following entry
+     */
+    public void setAfter(CacheEntry<K, V> after) {
+        this.after = after;
+    }
+
+    /**
+     * Sets the policy list the entry is in.
+     *
+     * @param queue the list's number, as defined by the policy
+     */
+    public void setQueue(int queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%s, %s)", key, value);
+    }
+}
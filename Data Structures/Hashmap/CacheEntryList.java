@@ -0,0 +1,114 @@
+package datastructures.hashmap;
+
+/**
+ * Doubly linked list of CacheEntry objects through their before and after
+ * links, ordered from least to most recently used. Keeps the total weight
+ * of its entries. Eviction policies build their segments from these lists;
+ * an entry can be in at most one list at a time.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class CacheEntryList<K, V> {
+
+    private CacheEntry<K, V> head;
+    private CacheEntry<K, V> tail;
+    private long weight;
+
+    /**
+     * Adds the entry at the most recently used end.
+     *
+     * @param entry an entry that is in no list
+     */
+    public void addLast(CacheEntry<K, V> entry) {
+        entry.setBefore(tail);
+        entry.setAfter(null);
+        if (tail == null) {
+            head = entry;
+        } else {
+            tail.setAfter(entry);
+        }
+        tail = entry;
+        weight += entry.getWeight();
+    }
+
+    /**
+     * Unlinks the entry.
+     *
+     * @param entry an entry of this list
+     */
+    public void remove(CacheEntry<K, V> entry) {
+        CacheEntry<K, V> before = entry.getBefore();
+        CacheEntry<K, V> after = entry.getAfter();
+        if (before == null) {
+            head = after;
+        } else {
+            before.setAfter(after);
+        }
+        if (after == null) {
+            tail = before;
+        } else {
+            after.setBefore(before);
+        }
+        entry.setBefore(null);
+        entry.setAfter(null);
+        weight -= entry.getWeight();
+    }
+
+    /**
+     * Moves the entry to the most recently used end.
+     *
+     * @param entry an entry of this list
+     */
+    public void moveToLast(CacheEntry<K, V> entry) {
+        if (entry != tail) {
+            remove(entry);
+            addLast(entry);
+        }
+    }
+
+    /**
+     * Adds delta to the list's weight after an entry of it was reweighed.
+     *
+     * @param delta the change in the entry's weight
+     */
+    public void reweigh(int delta) {
+        weight += delta;
+    }
+
+    /**
+     * Returns the least recently used entry.
+     *
+     * @return the first entry, or null if the list is empty
+     */
+    public CacheEntry<K, V> first() {
+        return head;
+    }
+
+    /**
+     * Returns the most recently used entry.
+     *
+     * @return the last entry, or null if the list is empty
+     */
+    public CacheEntry<K, V> last() {
+        return tail;
+    }
+
+    /**
+     * Returns the total weight of the entries in the list.
+     *
+     * @return the weight
+     */
+    public long weight() {
+        return weight;
+    }
+
+    /**
+     * Empties the list without unlinking the entries one by one.
+     */
+    public void clear() {
+        head = null;
+        tail = null;
+        weight = 0;
+    }
+}
@@ -0,0 +1,687 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * My implementation of a thread safe ExternalChainingHashMap.
+ *
+ * Buckets are split into a fixed number of stripes and every write takes
+ * only the lock of the stripe its bucket falls in, so writes to different
+ * stripes run in parallel. Reads take no lock at all: the buckets are an
+ * AtomicReferenceArray and the value and next fields of every entry are
+ * volatile, so a reader always walks a chain that was fully published.
+ *
+ * The table length is a power of two, so a resize splits every old bucket
+ * into exactly two new ones. Resizing is cooperative: the table is cut into
+ * ranges of TRANSFER_STRIDE buckets, and any thread that runs into the
+ * resize claims ranges and moves them until none are left. A moved bucket is
+ * replaced by a forwarding entry that sends readers and writers on to the
+ * new table. Entries are copied rather than relinked, so a reader still
+ * walking an old chain is never cut off.
+ *
+ * Like ExternalChainingHashMap, keys and values may not be null.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class ConcurrentExternalChainingHashMap<K, V> {
+
+    /*
+     * The initial capacity of the ConcurrentExternalChainingHashMap when
+     * created with the default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the ConcurrentExternalChainingHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /*
+     * The number of lock stripes when created with the default constructor.
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 64;
+
+    /*
+     * The number of buckets a thread claims at a time while resizing.
+     */
+    public static final int TRANSFER_STRIDE = 16;
+
+    /*
+     * The hash of a forwarding entry. Real hashes are never negative.
+     */
+    private static final int MOVED = -1;
+
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+    private volatile Transfer<K, V> transfer;
+    private final Object resizeLock = new Object();
+    private final Object[] locks;
+    private final int lockMask;
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Constructs a new ConcurrentExternalChainingHashMap.
+     */
+    public ConcurrentExternalChainingHashMap() {
+        this(INITIAL_CAPACITY, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Constructs a new ConcurrentExternalChainingHashMap.
+     *
+     * @param initialCapacity  the initial capacity of the backing table,
+     *                         rounded up to a power of two
+     * @param concurrencyLevel the number of lock stripes, rounded up to a
+     *                         power of two
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative or concurrencyLevel
+     *                                            is not positive
+     */
+    public ConcurrentExternalChainingHashMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("The initial capacity is negative or the concurrency level is not"
+                    + " positive. Please enter a capacity of at least 0 and a level of at least 1.");
+        }
+        table = new AtomicReferenceArray<>(Hashing.powerOfTwoAtLeast(initialCapacity));
+        int stripes = Hashing.powerOfTwoAtLeast(concurrencyLevel);
+        locks = new Object[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new Object();
+        }
+        lockMask = stripes - 1;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        return putValue(key, value, false);
+    }
+
+    /**
+     * Adds the given key-value pair to the map only if the key is not in the
+     * map yet, as one atomic step.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was added. Otherwise the value already
+     * associated with it, which is left unchanged
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        return putValue(key, value, true);
+    }
+
+    /**
+     * Atomically recomputes the value of key. The function is given the key
+     * and its current value, or null if the key is not in the map. If it
+     * returns null the entry is removed, otherwise the result becomes the
+     * new value.
+     *
+     * The function runs while the key's stripe is locked, so it should be
+     * short and must not use this map.
+     *
+     * @param key               the key to recompute
+     * @param remappingFunction computes the new value from the old one
+     * @return the new value, or null if the key is no longer in the map
+     * @throws java.lang.IllegalArgumentException if key or remappingFunction
+     *                                            is null
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null) {
+            throw new IllegalArgumentException("The key or function you entered is null. Please enter existing data");
+        }
+        return update(key, null, remappingFunction, null);
+    }
+
+    /**
+     * Atomically adds value if key is not in the map, or else replaces the
+     * current value with the result of the function applied to the current
+     * value and value. If the function returns null the entry is removed.
+     *
+     * The function runs while the key's stripe is locked, so it should be
+     * short and must not use this map.
+     *
+     * @param key               the key to merge
+     * @param value             the value to add or merge in
+     * @param remappingFunction combines the current value and value
+     * @return the new value, or null if the key is no longer in the map
+     * @throws java.lang.IllegalArgumentException if any argument is null
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new IllegalArgumentException("The key, value or function you entered is null."
+                    + " Please enter existing data");
+        }
+        return update(key, value, null, remappingFunction);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first != null && first.hash == MOVED) {
+                tab = helpTransfer(first);
+                continue;
+            }
+            synchronized (locks[index & lockMask]) {
+                first = tab.get(index);
+                if (first != null && first.hash == MOVED) {
+                    continue;
+                }
+                Node<K, V> prev = null;
+                for (Node<K, V> curr = first; curr != null; curr = curr.next) {
+                    if (curr.hash == hash && curr.key.equals(key)) {
+                        unlink(tab, index, prev, curr);
+                        count.decrement();
+                        return curr.value;
+                    }
+                    prev = curr;
+                }
+            }
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+    }
+
+    /**
+     * Gets the value associated with the given key. Takes no lock.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        Node<K, V> node = findNode(key);
+        if (node == null) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return node.value;
+    }
+
+    /**
+     * Returns whether or not the key is in the map. Takes no lock.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        return findNode(key) != null;
+    }
+
+    /**
+     * Returns a Set of the keys contained in this map. Entries added or
+     * removed while the set is being built may or may not be included.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        HashSet<K> theSet = new HashSet<K>();
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            collect(tab, i, theSet, null);
+        }
+        return theSet;
+    }
+
+    /**
+     * Returns a List of the values contained in this map. Entries added or
+     * removed while the list is being built may or may not be included.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> theList = new ArrayList<V>();
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            collect(tab, i, null, theList);
+        }
+        return theList;
+    }
+
+    /**
+     * Removes every entry from the map. The table keeps its current length.
+     */
+    public void clear() {
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        for (int i = 0; i < tab.length(); i++) {
+            clearBucket(tab, i);
+        }
+    }
+
+    /**
+     * Returns the size of the map. Only exact while no other thread is
+     * modifying the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return (int) count.sum();
+    }
+
+    /**
+     * Returns the length of the current backing table.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Shared implementation of put and putIfAbsent.
+     *
+     * @param key          the key to add, not null
+     * @param value        the value to add, not null
+     * @param onlyIfAbsent true to leave an existing value unchanged
+     * @return the previous value, or null if the key was added
+     */
+    private V putValue(K key, V value, boolean onlyIfAbsent) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first != null && first.hash == MOVED) {
+                tab = helpTransfer(first);
+                continue;
+            }
+            int binCount = 0;
+            synchronized (locks[index & lockMask]) {
+                first = tab.get(index);
+                if (first != null && first.hash == MOVED) {
+                    continue;
+                }
+                for (Node<K, V> curr = first; curr != null; curr = curr.next) {
+                    binCount++;
+                    if (curr.hash == hash && curr.key.equals(key)) {
+                        V oldValue = curr.value;
+                        if (!onlyIfAbsent) {
+                            curr.value = value;
+                        }
+                        return oldValue;
+                    }
+                }
+                tab.set(index, new Node<>(hash, key, value, first));
+            }
+            added(tab, binCount);
+            return null;
+        }
+    }
+
+    /**
+     * Shared implementation of compute and merge. Exactly one of the two
+     * functions is non null.
+     *
+     * @param key      the key to update, not null
+     * @param value    the value merge adds or merges in
+     * @param compute  the compute function
+     * @param merge    the merge function
+     * @return the new value, or null if the key is no longer in the map
+     */
+    private V update(K key, V value, BiFunction<? super K, ? super V, ? extends V> compute,
+                     BiFunction<? super V, ? super V, ? extends V> merge) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> first = tab.get(index);
+            if (first != null && first.hash == MOVED) {
+                tab = helpTransfer(first);
+                continue;
+            }
+            V newValue;
+            int delta = 0;
+            int binCount = 0;
+            synchronized (locks[index & lockMask]) {
+                first = tab.get(index);
+                if (first != null && first.hash == MOVED) {
+                    continue;
+                }
+                Node<K, V> prev = null;
+                Node<K, V> curr = first;
+                while (curr != null && !(curr.hash == hash && curr.key.equals(key))) {
+                    prev = curr;
+                    curr = curr.next;
+                    binCount++;
+                }
+                V oldValue = curr == null ? null : curr.value;
+                if (compute != null) {
+                    newValue = compute.apply(key, oldValue);
+                } else {
+                    newValue = oldValue == null ? value : merge.apply(oldValue, value);
+                }
+                if (curr != null && newValue != null) {
+                    curr.value = newValue;
+                } else if (curr != null) {
+                    unlink(tab, index, prev, curr);
+                    delta = -1;
+                } else if (newValue != null) {
+                    tab.set(index, new Node<>(hash, key, newValue, first));
+                    delta = 1;
+                }
+            }
+            if (delta > 0) {
+                added(tab, binCount);
+            } else if (delta < 0) {
+                count.decrement();
+            }
+            return newValue;
+        }
+    }
+
+    /**
+     * Finds the entry for key without locking, following forwarding entries
+     * into newer tables.
+     *
+     * @param key the key to search for, not null
+     * @return the entry, or null if the key is not in the map
+     */
+    private Node<K, V> findNode(K key) {
+        int hash = spread(key.hashCode());
+        AtomicReferenceArray<Node<K, V>> tab = table;
+        while (true) {
+            Node<K, V> curr = tab.get(hash & (tab.length() - 1));
+            if (curr != null && curr.hash == MOVED) {
+                tab = ((ForwardingNode<K, V>) curr).transfer.nextTable;
+                continue;
+            }
+            while (curr != null) {
+                if (curr.hash == hash && curr.key.equals(key)) {
+                    return curr;
+                }
+                curr = curr.next;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Unlinks curr from its bucket. The caller holds the bucket's lock.
+     *
+     * @param tab   the table
+     * @param index the bucket
+     * @param prev  the entry before curr, or null if curr is first
+     * @param curr  the entry to unlink
+     */
+    private void unlink(AtomicReferenceArray<Node<K, V>> tab, int index, Node<K, V> prev, Node<K, V> curr) {
+        if (prev == null) {
+            tab.set(index, curr.next);
+        } else {
+            prev.next = curr.next;
+        }
+    }
+
+    /**
+     * Counts a new entry and starts or joins a resize if the table the entry
+     * went into is over the max load factor.
+     *
+     * Summing the counter reads every one of its cells, which under
+     * contention would make every writer touch every other writer's cache
+     * line. Like ConcurrentHashMap, the load is therefore only checked when
+     * the entry joined a chain of at least two, which gets more likely the
+     * fuller the table is.
+     *
+     * @param tab      the table the entry was added to
+     * @param binCount the number of entries already in the entry's bucket
+     */
+    private void added(AtomicReferenceArray<Node<K, V>> tab, int binCount) {
+        count.increment();
+        if (binCount > 1 && count.sum() > MAX_LOAD_FACTOR * tab.length()) {
+            Transfer<K, V> current;
+            synchronized (resizeLock) {
+                if (transfer == null && tab == table) {
+                    transfer = new Transfer<>(tab);
+                }
+                current = transfer;
+            }
+            if (current != null) {
+                help(current);
+            }
+        }
+    }
+
+    /**
+     * Helps the resize a forwarding entry belongs to and returns the table it
+     * forwards to.
+     *
+     * @param forwarding the forwarding entry that was run into
+     * @return the new table
+     */
+    private AtomicReferenceArray<Node<K, V>> helpTransfer(Node<K, V> forwarding) {
+        Transfer<K, V> current = ((ForwardingNode<K, V>) forwarding).transfer;
+        help(current);
+        return current.nextTable;
+    }
+
+    /**
+     * Claims and moves ranges of buckets until the resize has none left. The
+     * thread that moves the last bucket swaps in the new table.
+     *
+     * @param current the resize to help
+     */
+    private void help(Transfer<K, V> current) {
+        while (true) {
+            int end = current.nextIndex.get();
+            if (end <= 0) {
+                return;
+            }
+            int start = Math.max(0, end - TRANSFER_STRIDE);
+            if (!current.nextIndex.compareAndSet(end, start)) {
+                continue;
+            }
+            for (int i = end - 1; i >= start; i--) {
+                moveBucket(current, i);
+            }
+            if (current.remaining.addAndGet(start - end) == 0) {
+                synchronized (resizeLock) {
+                    table = current.nextTable;
+                    transfer = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Copies bucket index of the old table into buckets index and
+     * index + old length of the new table, then forwards it.
+     *
+     * @param current the resize
+     * @param index   the bucket to move
+     */
+    private void moveBucket(Transfer<K, V> current, int index) {
+        AtomicReferenceArray<Node<K, V>> tab = current.table;
+        int length = tab.length();
+        synchronized (locks[index & lockMask]) {
+            Node<K, V> low = null;
+            Node<K, V> high = null;
+            for (Node<K, V> curr = tab.get(index); curr != null; curr = curr.next) {
+                if ((curr.hash & length) == 0) {
+                    low = new Node<>(curr.hash, curr.key, curr.value, low);
+                } else {
+                    high = new Node<>(curr.hash, curr.key, curr.value, high);
+                }
+            }
+            current.nextTable.set(index, low);
+            current.nextTable.set(index + length, high);
+            tab.set(index, current.forwarding);
+        }
+    }
+
+    /**
+     * Adds the keys or values of bucket index to set or list, following
+     * forwarding entries into newer tables.
+     *
+     * @param tab   the table
+     * @param index the bucket
+     * @param set   the set to add keys to, or null
+     * @param list  the list to add values to, or null
+     */
+    private void collect(AtomicReferenceArray<Node<K, V>> tab, int index, Set<K> set, List<V> list) {
+        Node<K, V> curr = tab.get(index);
+        if (curr != null && curr.hash == MOVED) {
+            AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) curr).transfer.nextTable;
+            collect(next, index, set, list);
+            collect(next, index + tab.length(), set, list);
+            return;
+        }
+        while (curr != null) {
+            if (set != null) {
+                set.add(curr.key);
+            } else {
+                list.add(curr.value);
+            }
+            curr = curr.next;
+        }
+    }
+
+    /**
+     * Empties bucket index, following forwarding entries into newer tables.
+     *
+     * @param tab   the table
+     * @param index the bucket
+     */
+    private void clearBucket(AtomicReferenceArray<Node<K, V>> tab, int index) {
+        Node<K, V> first;
+        synchronized (locks[index & lockMask]) {
+            first = tab.get(index);
+            if (first == null || first.hash != MOVED) {
+                int removed = 0;
+                for (Node<K, V> curr = first; curr != null; curr = curr.next) {
+                    removed++;
+                }
+                tab.set(index, null);
+                count.add(-removed);
+                return;
+            }
+        }
+        AtomicReferenceArray<Node<K, V>> next = ((ForwardingNode<K, V>) first).transfer.nextTable;
+        clearBucket(next, index);
+        clearBucket(next, index + tab.length());
+    }
+
+    /**
+     * Mixes the hash and clears the sign bit, which is reserved for
+     * forwarding entries.
+     *
+     * @param hash the key's hashCode
+     * @return the mixed, non negative hash
+     */
+    static int spread(int hash) {
+        return Hashing.spread(hash) & 0x7FFFFFFF;
+    }
+
+    /**
+     * An entry of a chain. Key and hash never change, value and next are
+     * volatile so lock free readers see every write made under a lock.
+     */
+    private static class Node<K, V> {
+
+        private final int hash;
+        private final K key;
+        private volatile V value;
+        private volatile Node<K, V> next;
+
+        /**
+         * Constructs a new Node.
+         *
+         * @param hash  the spread hash of key
+         * @param key   the key
+         * @param value the value
+         * @param next  the next entry in the chain
+         */
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Placeholder left in a bucket of the old table once it has been moved.
+     */
+    private static final class ForwardingNode<K, V> extends Node<K, V> {
+
+        private final Transfer<K, V> transfer;
+
+        /**
+         * Constructs a new ForwardingNode.
+         *
+         * @param transfer the resize the bucket was moved by
+         */
+        ForwardingNode(Transfer<K, V> transfer) {
+            super(MOVED, null, null, null);
+            this.transfer = transfer;
+        }
+    }
+
+    /**
+     * The shared state of one resize.
+     */
+    private static final class Transfer<K, V> {
+
+        private final AtomicReferenceArray<Node<K, V>> table;
+        private final AtomicReferenceArray<Node<K, V>> nextTable;
+        private final AtomicInteger nextIndex;
+        private final AtomicInteger remaining;
+        private final ForwardingNode<K, V> forwarding;
+
+        /**
+         * Constructs a new Transfer that doubles table.
+         *
+         * @param table the table being resized
+         */
+        Transfer(AtomicReferenceArray<Node<K, V>> table) {
+            this.table = table;
+            this.nextTable = new AtomicReferenceArray<>(table.length() * 2);
+            this.nextIndex = new AtomicInteger(table.length());
+            this.remaining = new AtomicInteger(table.length());
+            this.forwarding = new ForwardingNode<>(this);
+        }
+    }
+}
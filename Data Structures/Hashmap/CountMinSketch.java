@@ -0,0 +1,139 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+
+/**
+ * Count-min sketch estimating how often each hash was seen, used by
+ * WTinyLfuPolicy to decide which entries are worth keeping.
+ *
+ * Every long holds sixteen 4 bit counters and every hash maps to one counter
+ * in each of four rows, picked by four independently seeded mixes. The
+ * estimate is the smallest of the four, which can only be too high when all
+ * four collide. Counters stop at 15, and after ten increments per long all
+ * counters are halved so old popularity fades.
+ *
+ * The table starts small and doubles with the number of entries, as
+ * reported through ensureCapacity, so a cache that is bounded by weight
+ * does not allocate a sketch for its whole maximum weight up front.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+final class CountMinSketch {
+
+    private static final long[] SEEDS = {
+        0xC3A5C85C97CB3127L, 0xB492B66FBE98F273L, 0x9AE16A3B2F90404FL, 0xCBF29CE484222325L
+    };
+
+    // clears the bit every counter receives from its neighbour when halving
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_COUNT = 15;
+
+    private static final int MAX_LENGTH = 1 << 26;
+
+    private long[] table;
+    private int mask;
+    private int sampleSize;
+    private int additions;
+
+    /**
+     * Constructs a new CountMinSketch.
+     *
+     * @param expectedEntries the number of entries whose frequencies should
+     *                        be told apart
+     */
+    CountMinSketch(long expectedEntries) {
+        table = new long[0];
+        ensureCapacity(expectedEntries);
+    }
+
+    /**
+     * Grows the table to one long per entry if it is smaller. Growing starts
+     * every counter from 0 again.
+     *
+     * @param expectedEntries the number of entries whose frequencies should
+     *                        be told apart
+     */
+    void ensureCapacity(long expectedEntries) {
+        if (expectedEntries <= table.length || table.length == MAX_LENGTH) {
+            return;
+        }
+        int length = Hashing.powerOfTwoAtLeast((int) Math.min(expectedEntries, MAX_LENGTH));
+        table = new long[length];
+        mask = length - 1;
+        sampleSize = 10 * length;
+        additions = 0;
+    }
+
+    /**
+     * Returns the estimated number of times hash was incremented since the
+     * counters were last halved, at most 15.
+     *
+     * @param hash the hash
+     * @return the estimated frequency
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            int shift = counterShift(h);
+            frequency = Math.min(frequency, (int) ((table[(int) h & mask] >>> shift) & MAX_COUNT));
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts one more occurrence of hash.
+     *
+     * @param hash the hash
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long h = mix(hash, row);
+            int index = (int) h & mask;
+            int shift = counterShift(h);
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    /**
+     * Mixes hash with the seed of the row. The low bits select the long and
+     * the top four bits the counter within it.
+     *
+     * @param hash the hash
+     * @param row  the row, 0 to 3
+     * @return the mixed hash
+     */
+    private static long mix(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * Returns the shift of the counter a mixed hash selects within its long.
+     *
+     * @param h the mixed hash
+     * @return the shift, a multiple of 4
+     */
+    private static int counterShift(long h) {
+        return (int) (h >>> 60) << 2;
+    }
+}
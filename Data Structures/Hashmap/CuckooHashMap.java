@@ -0,0 +1,572 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * My implementation of a bucketized cuckoo HashMap.
+ *
+ * The slots are grouped into buckets of four, and every key may only live
+ * in one of two buckets picked by two hash functions. A lookup therefore
+ * reads at most eight slots, however full the table is, which keeps the
+ * latency of get and containsKey flat up to a load factor of 0.95.
+ *
+ * Keys and values sit in parallel arrays with no per entry objects, next
+ * to a third array caching each key's hashCode, so both buckets of a
+ * resident key can be found again without calling hashCode.
+ *
+ * When both buckets of a new key are full, a random resident of one of
+ * them is kicked out to its other bucket, which may kick out another
+ * resident, and so on. If that chain grows too long the homeless entry
+ * goes into a small stash, which lookups only read while it is not empty.
+ * Once the stash is full the table is rehashed with new hash functions,
+ * and doubled first if it is at least half full or if MAX_REHASHES new
+ * hash functions in a row leave the stash full. Keys sharing a hashCode
+ * with more keys than their two buckets can hold cannot be separated by
+ * any hash functions or table length, so for those alone the stash may
+ * grow past STASH_CAPACITY, to at most twice their number more.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class CuckooHashMap<K, V> {
+
+    /*
+     * The initial capacity of the CuckooHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the CuckooHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.95;
+
+    /*
+     * The number of slots in a bucket.
+     */
+    public static final int SLOTS_PER_BUCKET = 4;
+
+    /*
+     * The most entries the stash holds before the table is rehashed.
+     */
+    public static final int STASH_CAPACITY = 4;
+
+    // how many residents an insert may kick out before it gives up
+    private static final int MAX_KICKS = 500;
+
+    // rehashes with new seeds in a row before the table is doubled
+    private static final int MAX_REHASHES = 3;
+
+    private static final int GOLDEN = 0x9E3779B9;
+
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int bucketMask;
+    private int bucketShift;
+    private int seed;
+    private int size;
+
+    private K[] stashKeys;
+    private V[] stashValues;
+    private int[] stashHashes;
+    private int stashSize;
+    private int stashLimit;
+
+    // picks which resident to kick out
+    private int random = 0x2545F491;
+
+    /**
+     * Constructs a new CuckooHashMap.
+     */
+    public CuckooHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new CuckooHashMap.
+     *
+     * @param initialCapacity the initial number of slots, rounded up to a
+     *                        power of two of at least 8
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public CuckooHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity is negative."
+                    + " Please enter a capacity of at least 0.");
+        }
+        allocate(bucketsFor(initialCapacity));
+        clearStash();
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * In the case of a collision, cuckoo displacement is the resolution
+     * strategy.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        int hashCode = key.hashCode();
+        int index = indexOf(key, hashCode);
+        if (index >= 0) {
+            V oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (index != -1) {
+            int stashIndex = -index - 2;
+            V oldValue = stashValues[stashIndex];
+            stashValues[stashIndex] = value;
+            return oldValue;
+        }
+        if (size + 1 > MAX_LOAD_FACTOR * keys.length) {
+            resizeBackingTable(keys.length * 2);
+        }
+        insert(key, value, hashCode);
+        size++;
+        if (stashSize > stashLimit) {
+            rehash();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        int index = indexOf(key, key.hashCode());
+        if (index == -1) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        V oldValue;
+        if (index >= 0) {
+            oldValue = values[index];
+            keys[index] = null;
+            values[index] = null;
+            hashes[index] = 0;
+        } else {
+            int stashIndex = -index - 2;
+            oldValue = stashValues[stashIndex];
+            stashSize--;
+            stashKeys[stashIndex] = stashKeys[stashSize];
+            stashValues[stashIndex] = stashValues[stashSize];
+            stashHashes[stashIndex] = stashHashes[stashSize];
+            stashKeys[stashSize] = null;
+            stashValues[stashSize] = null;
+        }
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        int index = indexOf(key, key.hashCode());
+        if (index >= 0) {
+            return values[index];
+        }
+        if (index == -1) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return stashValues[-index - 2];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        return indexOf(key, key.hashCode()) != -1;
+    }
+
+    /**
+     * Returns a Set view of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        HashSet<K> theSet = new HashSet<K>();
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                theSet.add(keys[i]);
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            theSet.add(stashKeys[i]);
+        }
+        return theSet;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> theList = new ArrayList<V>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                theList.add(values[i]);
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            theList.add(stashValues[i]);
+        }
+        return theList;
+    }
+
+    /**
+     * Resizes the backing arrays to length slots, rounded up to a power of
+     * two of at least 8, and reinserts every entry.
+     *
+     * @param length new number of slots
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
+                    + " Please enter a length larger than the size.");
+        }
+        rebuild(bucketsFor(length), seed);
+        if (stashSize > stashLimit) {
+            rehash();
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        allocate(bucketsFor(INITIAL_CAPACITY));
+        clearStash();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots of the backing arrays.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding key: one of the four slots of its first
+     * bucket, one of the four of its second, or the stash.
+     *
+     * @param key      the key to search for, not null
+     * @param hashCode the key's hashCode
+     * @return the slot index, -2 - i if the key is at index i of the stash,
+     * or -1 if the key is not in the map
+     */
+    private int indexOf(K key, int hashCode) {
+        int h = Hashing.spread(hashCode ^ seed);
+        int slot = (h & bucketMask) * SLOTS_PER_BUCKET;
+        for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            K resident = keys[i];
+            if (hashes[i] == hashCode && resident != null && resident.equals(key)) {
+                return i;
+            }
+        }
+        slot = secondBucket(h) * SLOTS_PER_BUCKET;
+        for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            K resident = keys[i];
+            if (hashes[i] == hashCode && resident != null && resident.equals(key)) {
+                return i;
+            }
+        }
+        for (int i = 0; i < stashSize; i++) {
+            if (stashHashes[i] == hashCode && stashKeys[i].equals(key)) {
+                return -2 - i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Places an entry that is not in the map, kicking residents to their
+     * other bucket as needed. The entry left homeless after MAX_KICKS moves
+     * goes into the stash, whatever its size.
+     *
+     * @param key      the key to place
+     * @param value    the value to place
+     * @param hashCode the key's hashCode
+     */
+    private void insert(K key, V value, int hashCode) {
+        int h = Hashing.spread(hashCode ^ seed);
+        int bucket = h & bucketMask;
+        if (placeInBucket(bucket, key, value, hashCode) || placeInBucket(secondBucket(h), key, value, hashCode)) {
+            return;
+        }
+        for (int kicks = 0; kicks < MAX_KICKS; kicks++) {
+            random ^= random << 13;
+            random ^= random >>> 17;
+            random ^= random << 5;
+            int slot = bucket * SLOTS_PER_BUCKET + (random & (SLOTS_PER_BUCKET - 1));
+            K displacedKey = keys[slot];
+            V displacedValue = values[slot];
+            int displacedHash = hashes[slot];
+            keys[slot] = key;
+            values[slot] = value;
+            hashes[slot] = hashCode;
+            key = displacedKey;
+            value = displacedValue;
+            hashCode = displacedHash;
+            // the displaced entry moves to whichever of its buckets it was not in
+            h = Hashing.spread(hashCode ^ seed);
+            int first = h & bucketMask;
+            bucket = first == bucket ? secondBucket(h) : first;
+            if (placeInBucket(bucket, key, value, hashCode)) {
+                return;
+            }
+        }
+        if (stashSize == stashKeys.length) {
+            stashKeys = Arrays.copyOf(stashKeys, stashSize * 2);
+            stashValues = Arrays.copyOf(stashValues, stashSize * 2);
+            stashHashes = Arrays.copyOf(stashHashes, stashSize * 2);
+        }
+        stashKeys[stashSize] = key;
+        stashValues[stashSize] = value;
+        stashHashes[stashSize] = hashCode;
+        stashSize++;
+    }
+
+    /**
+     * Puts the entry in a free slot of the bucket, if it has one.
+     *
+     * @param bucket   the bucket
+     * @param key      the key to place
+     * @param value    the value to place
+     * @param hashCode the key's hashCode
+     * @return true if the entry was placed
+     */
+    private boolean placeInBucket(int bucket, K key, V value, int hashCode) {
+        int slot = bucket * SLOTS_PER_BUCKET;
+        for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            if (keys[i] == null) {
+                keys[i] = key;
+                values[i] = value;
+                hashes[i] = hashCode;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Empties an overfull stash by reinserting everything with new hash
+     * functions, doubling the table first if it is at least half full.
+     * Each time MAX_REHASHES attempts in a row leave the stash full, the
+     * table is doubled again, unless what is left in the stash is down to
+     * keys that no table could place. The stash may then hold STASH_CAPACITY
+     * entries plus twice that many of those keys, so adding more of them
+     * rehashes again only once their number has doubled.
+     */
+    private void rehash() {
+        int buckets = bucketMask + 1;
+        if (size >= keys.length / 2) {
+            buckets *= 2;
+        }
+        int limit = STASH_CAPACITY;
+        for (int attempt = 1; ; attempt++) {
+            rebuild(buckets, Hashing.spread(seed + GOLDEN));
+            if (stashSize <= limit) {
+                break;
+            }
+            if (attempt % MAX_REHASHES == 0) {
+                limit = STASH_CAPACITY + 2 * unplaceable();
+                if (stashSize <= limit) {
+                    break;
+                }
+                buckets *= 2;
+            }
+        }
+        stashLimit = limit;
+    }
+
+    /**
+     * Returns how many entries no table could place: a key's two buckets
+     * depend only on its hashCode, so of the entries sharing a hashCode
+     * all but two buckets' worth must be in the stash. Only hashCodes in
+     * the stash are counted.
+     *
+     * @return the number of entries that must be in the stash
+     */
+    private int unplaceable() {
+        int count = 0;
+        for (int i = 0; i < stashSize; i++) {
+            int hashCode = stashHashes[i];
+            boolean counted = false;
+            int shared = 0;
+            for (int j = 0; j < stashSize; j++) {
+                if (stashHashes[j] == hashCode) {
+                    counted |= j < i;
+                    shared++;
+                }
+            }
+            if (counted) {
+                continue;
+            }
+            int h = Hashing.spread(hashCode ^ seed);
+            int first = h & bucketMask;
+            int second = secondBucket(h);
+            shared += sharing(first, hashCode);
+            if (second != first) {
+                shared += sharing(second, hashCode);
+            }
+            count += Math.max(0, shared - 2 * SLOTS_PER_BUCKET);
+        }
+        return count;
+    }
+
+    /**
+     * Returns how many slots of the bucket hold a key with the given
+     * hashCode.
+     *
+     * @param bucket   the bucket
+     * @param hashCode the hashCode
+     * @return the number of slots
+     */
+    private int sharing(int bucket, int hashCode) {
+        int shared = 0;
+        int slot = bucket * SLOTS_PER_BUCKET;
+        for (int i = slot; i < slot + SLOTS_PER_BUCKET; i++) {
+            if (keys[i] != null && hashes[i] == hashCode) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Reinserts every entry into new backing arrays with the given number
+     * of buckets and hash seed. Cached hashCodes mean no hashCode or equals
+     * calls.
+     *
+     * @param buckets the new number of buckets, a power of two
+     * @param newSeed the new hash seed
+     */
+    private void rebuild(int buckets, int newSeed) {
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        K[] oldStashKeys = stashKeys;
+        V[] oldStashValues = stashValues;
+        int[] oldStashHashes = stashHashes;
+        int oldStashSize = stashSize;
+        allocate(buckets);
+        clearStash();
+        seed = newSeed;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                insert(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+        for (int i = 0; i < oldStashSize; i++) {
+            insert(oldStashKeys[i], oldStashValues[i], oldStashHashes[i]);
+        }
+    }
+
+    /**
+     * Returns the second bucket of a key, taken from the top bits of its
+     * mixed hash so that it is independent of the first.
+     *
+     * @param h the key's mixed hash
+     * @return the second bucket
+     */
+    private int secondBucket(int h) {
+        return (h * GOLDEN) >>> bucketShift;
+    }
+
+    /**
+     * Returns the number of buckets holding at least the given number of
+     * slots.
+     *
+     * @param slots the requested number of slots
+     * @return a power of two number of buckets, at least 2
+     */
+    private static int bucketsFor(int slots) {
+        return Hashing.powerOfTwoAtLeast((slots + SLOTS_PER_BUCKET - 1) / SLOTS_PER_BUCKET);
+    }
+
+    /**
+     * Allocates empty backing arrays with the given number of buckets.
+     *
+     * @param buckets the number of buckets, a power of two
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int buckets) {
+        keys = (K[]) new Object[buckets * SLOTS_PER_BUCKET];
+        values = (V[]) new Object[buckets * SLOTS_PER_BUCKET];
+        hashes = new int[buckets * SLOTS_PER_BUCKET];
+        bucketMask = buckets - 1;
+        bucketShift = 32 - Integer.numberOfTrailingZeros(buckets);
+    }
+
+    /**
+     * Empties the stash.
+     */
+    @SuppressWarnings("unchecked")
+    private void clearStash() {
+        stashKeys = (K[]) new Object[STASH_CAPACITY + 1];
+        stashValues = (V[]) new Object[STASH_CAPACITY + 1];
+        stashHashes = new int[STASH_CAPACITY + 1];
+        stashSize = 0;
+        stashLimit = STASH_CAPACITY;
+    }
+}
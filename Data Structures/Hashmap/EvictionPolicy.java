@@ -0,0 +1,68 @@
+package datastructures.hashmap;
+
+/**
+ * Decides which entry a BoundedCache evicts once it is over its maximum
+ * weight. The cache reports every insert, hit, miss, update and removal,
+ * and asks for a victim until it fits again.
+ *
+ * A policy is created for one cache and is not shared between caches. See
+ * LruPolicy and WTinyLfuPolicy. Policies in other packages keep their
+ * order in CacheEntryList objects, through the before and after links of
+ * CacheEntry, and can tell the lists apart through its queue number and
+ * feed a frequency estimate from its hash.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public interface EvictionPolicy<K, V> {
+
+    /**
+     * Called after a new entry was added to the cache.
+     *
+     * @param entry the new entry
+     */
+    void recordInsert(CacheEntry<K, V> entry);
+
+    /**
+     * Called when a lookup found the entry.
+     *
+     * @param entry the entry that was read
+     */
+    void recordHit(CacheEntry<K, V> entry);
+
+    /**
+     * Called when a lookup found no entry for a key.
+     *
+     * @param hash the spread hash of the key
+     */
+    void recordMiss(int hash);
+
+    /**
+     * Called after the value and weight of an entry were replaced.
+     *
+     * @param entry     the updated entry
+     * @param oldWeight the weight the entry had before
+     */
+    void recordUpdate(CacheEntry<K, V> entry, int oldWeight);
+
+    /**
+     * Called after an entry was removed from the cache, whether explicitly
+     * or because it was chosen as the victim.
+     *
+     * @param entry the removed entry
+     */
+    void recordRemove(CacheEntry<K, V> entry);
+
+    /**
+     * Chooses the entry to evict next. Only called while the cache holds at
+     * least one entry.
+     *
+     * @return an entry of the cache
+     */
+    CacheEntry<K, V> victim();
+
+    /**
+     * Called after the cache dropped every entry.
+     */
+    void clear();
+}
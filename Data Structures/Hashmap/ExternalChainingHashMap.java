@@ -1,13 +1,74 @@
-import java.util.HashSet;
+package datastructures.hashmap;
+
+import datastructures.avl.AVL;
+import datastructures.avl.AVLNode;
+import datastructures.util.Hashing;
+import java.lang.management.ManagementFactory;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.List;
-import java.util.ArrayList;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 
 /**
  * My implementation of a ExternalChainingHashMap.
  *
+ * In incremental resize mode, crossing the max load factor does not rehash
+ * the whole table inside one put. The old table is kept next to the new one
+ * and every following operation moves at most MIGRATION_STEP of its buckets
+ * over, so no single operation pays for the whole resize. Until the old
+ * table is empty, lookups check both tables.
+ *
+ * A bucket whose chain reaches TREEIFY_THRESHOLD entries, all of the same
+ * Comparable class, is also indexed by an AVL of its keys, so lookups in it
+ * take O(log n) compareTo calls even when many keys share a hashCode. The
+ * chain itself is kept, so getTable() still sees every entry. The index is
+ * dropped once the bucket shrinks to UNTREEIFY_THRESHOLD entries or a key
+ * that cannot be compared with the others is added to it.
+ *
+ * By default the table grows to 2n + 1 and a key's bucket is its hashCode
+ * modulo the table length. In power of two mode the table length is always
+ * a power of two and the bucket is the mixed hashCode masked by length - 1,
+ * which replaces the integer division of every operation with a few
+ * multiplications and shifts.
+ *
+ * keySet(), values() and entrySet() are live views that walk the table
+ * without copying it. Their spliterators split by bucket range, so parallel
+ * streams over them divide the table between threads. During an
+ * incremental resize they walk the table and then the old table, and
+ * migration pauses until the map is next changed other than through the
+ * iterator, which would throw a ConcurrentModificationException anyway.
+ *
+ * getOrDefault, computeIfAbsent, compute and merge find the key once and
+ * then update the entry they found or link a new one, so a read-modify-write
+ * costs one chain walk instead of the three of containsKey, get and put.
+ * putAll sizes the table for everything it adds before adding any of it,
+ * spreading the rehash over later operations in incremental resize mode,
+ * and removeIf unlinks every matching entry in a single sweep of the table.
+ *
+ * With statistics enabled the map counts the probes of every lookup and
+ * times every resize, which also emits a flight recorder event.
+ * statistics() returns a snapshot of those counters together with the
+ * chain length histogram and load factor. registerStatisticsMBean publishes
+ * them over JMX from snapshots the map's own thread takes on statistics()
+ * calls and at every resize, so the JMX thread never reads the map. While
+ * disabled, the default, all this costs one null check per operation.
+ *
  * @author Ian Andrew McLeod
  * @version 1.0
  */
@@ -23,9 +84,67 @@ public class ExternalChainingHashMap<K, V> {
      * The max load factor of the ExternalChainingHashMap.
      */
     public static final double MAX_LOAD_FACTOR = 0.67;
+
+    /*
+     * The number of old buckets moved per operation while an incremental
+     * resize is in progress. Anything of at least 2 finishes the migration
+     * well before the new table reaches the max load factor.
+     */
+    public static final int MIGRATION_STEP = 8;
+
+    /*
+     * The chain length at which a bucket of Comparable keys gets an AVL
+     * index.
+     */
+    public static final int TREEIFY_THRESHOLD = 8;
+
+    /*
+     * The bucket size at which a bucket's AVL index is dropped again. Lower
+     * than TREEIFY_THRESHOLD so a bucket does not flip back and forth.
+     */
+    public static final int UNTREEIFY_THRESHOLD = 6;
+
+    /**
+     * The modes a map can be constructed with.
+     */
+    public enum Option {
+        /**
+         * Spread each resize over the operations that follow it instead of
+         * rehashing everything in one put.
+         */
+        INCREMENTAL_RESIZE,
+        /**
+         * Keep the table length a power of two and index buckets with a mask
+         * instead of modulo.
+         */
+        POWER_OF_TWO
+    }
+
     private ExternalChainingMapEntry<K, V>[] table;
+    // null until the first bucket of the table is indexed
+    private AVL<TreeKey<K, V>>[] trees;
     private int size;
 
+    private final boolean incrementalResize;
+    private final boolean powerOfTwo;
+    private ExternalChainingMapEntry<K, V>[] oldTable;
+    private AVL<TreeKey<K, V>>[] oldTrees;
+    private int migrationIndex;
+    // set by the views, so migration cannot move entries under an iterator
+    private boolean migrationPaused;
+    private int pausedModCount;
+
+    // bumped by every change that adds, removes or moves entries
+    private int modCount;
+    private Set<K> keySetView;
+    private Collection<V> valuesView;
+    private Set<Map.Entry<K, V>> entrySetView;
+
+    // null while statistics are disabled
+    private Statistics statistics;
+    // null until registerStatisticsMBean is called
+    private StatisticsPublisher publisher;
+
     /**
      * Constructs a new ExternalChainingHashMap.
      */
@@ -40,7 +159,33 @@ public class ExternalChainingHashMap<K, V> {
      * @param initialCapacity the initial capacity of the backing array
      */
     public ExternalChainingHashMap(int initialCapacity) {
-        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[initialCapacity];
+        this(initialCapacity, new Option[0]);
+    }
+
+    /**
+     * Constructs a new ExternalChainingHashMap.
+     *
+     * @param initialCapacity the initial capacity of the backing array,
+     *                        rounded up to a power of two in power of two
+     *                        mode
+     * @param options         the modes to construct the map with
+     * @throws java.lang.IllegalArgumentException if options or one of them
+     *                                            is null
+     */
+    public ExternalChainingHashMap(int initialCapacity, Option... options) {
+        if (options == null) {
+            throw new IllegalArgumentException("The options you entered are null. Please enter existing options");
+        }
+        EnumSet<Option> set = EnumSet.noneOf(Option.class);
+        for (Option option : options) {
+            if (option == null) {
+                throw new IllegalArgumentException("An option you entered is null. Please enter existing options");
+            }
+            set.add(option);
+        }
+        this.incrementalResize = set.contains(Option.INCREMENTAL_RESIZE);
+        this.powerOfTwo = set.contains(Option.POWER_OF_TWO);
+        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[tableLength(initialCapacity)];
         table = (ExternalChainingMapEntry<K, V>[]) arr;
         size = 0;
 
@@ -64,31 +209,23 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null || value == null) {
             throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
         }
+        migrate();
         if ((((double) (size + 1)) / ((double) table.length)) > MAX_LOAD_FACTOR) {
-            resizeBackingTable(table.length * 2 + 1);
+            grow();
         }
-        int hash = key.hashCode();
-        int compressed = Math.abs((hash % table.length));
-        if (table[compressed] != null) {
-            ExternalChainingMapEntry<K, V> curr = table[compressed];
-            while (curr != null) {
-                if (curr.getKey().equals(key)) {
-                    V oldValue = curr.getValue();
-                    curr.setValue(value);
-                    return oldValue;
-                }
-                curr = curr.getNext();
-            }
-            ExternalChainingMapEntry<K, V> temp = new ExternalChainingMapEntry<K, V>(key, value, table[compressed]);
-            table[compressed] = temp;
-            size++;
-            return null;
-        } else {
-            ExternalChainingMapEntry<K, V> newEntry = new ExternalChainingMapEntry<K, V>(key, value, null);
-            table[compressed] = newEntry;
-            size++;
-            return null;
+        ExternalChainingMapEntry<K, V> existing = findEntry(table, trees, key);
+        if (existing == null && oldTable != null) {
+            existing = findEntry(oldTable, oldTrees, key);
         }
+        if (existing != null) {
+            V oldValue = existing.getValue();
+            existing.setValue(value);
+            return oldValue;
+        }
+        link(new ExternalChainingMapEntry<K, V>(key, value, null));
+        size++;
+        modCount++;
+        return null;
 
     }
 
@@ -104,32 +241,14 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
         }
-        int hash = key.hashCode();
-        int compressed = Math.abs((hash % table.length));
-        if (table[compressed] != null) {
-            ExternalChainingMapEntry<K, V> curr = table[compressed];
-            if (curr.getKey().equals(key)) {
-                table[compressed] = curr.getNext();
-                size--;
-                return curr.getValue();
-            } else {
-                while (curr != null) {
-                    if (curr.getNext().getKey().equals(key)) {
-                        V theValue = curr.getNext().getValue();
-                        ExternalChainingMapEntry<K, V> theKey = curr.getNext();
-                        curr.setNext(theKey.getNext());
-                        theKey.setValue(null);
-                        theKey.setKey(null);
-                        size--;
-                        return theValue;
-                    }
-                    curr = curr.getNext();
-                }
-                throw new NoSuchElementException("The key you entered is not in the map");
-            }
-        } else {
+        migrate();
+        ExternalChainingMapEntry<K, V> removed = removeMapping(key);
+        if (removed == null) {
             throw new NoSuchElementException("The key you entered is not in the map");
         }
+        V theValue = removed.getValue();
+        removed.clearLinks();
+        return theValue;
 
     }
 
@@ -146,25 +265,12 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
         }
-        int hash = key.hashCode();
-        int compressed = Math.abs((hash % table.length));
-        if (table[compressed] != null) {
-            ExternalChainingMapEntry<K, V> curr = table[compressed];
-            if (curr.getKey().equals(key)) {
-                return curr.getValue();
-            } else {
-                while (curr != null) {
-                    if (curr.getNext().getKey().equals(key)) {
-                        return curr.getNext().getValue();
-                    }
-                    curr = curr.getNext();
-                }
-                throw new NoSuchElementException("The key you entered is not in the map");
-            }
-
-        } else {
+        migrate();
+        ExternalChainingMapEntry<K, V> entry = lookup(key);
+        if (entry == null) {
             throw new NoSuchElementException("The key you entered is not in the map");
         }
+        return entry.getValue();
 
     }
 
@@ -181,85 +287,278 @@ public class ExternalChainingHashMap<K, V> {
         if (key == null) {
             throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
         }
-        int hash = key.hashCode();
-        int compressed = Math.abs((hash % table.length));
-        if (table[compressed] != null) {
-            ExternalChainingMapEntry<K, V> curr = table[compressed];
-            if (curr.getKey().equals(key)) {
-                return true;
-            } else {
-                while (curr.getNext() != null) {
-                    if (curr.getNext().getKey().equals(key)) {
-                        return true;
-                    }
-                    curr = curr.getNext();
-                }
-                return false;
-            }
-
-        } else {
-            return false;
-        }
+        migrate();
+        return lookup(key) != null;
 
     }
 
     /**
-     * Returns a Set view of the keys contained in this map.
+     * Returns a Set view of the keys contained in this map. The set is backed
+     * by the map, so it reflects later changes, and removing from it removes
+     * from the map.
      *
      * @return the set of keys in this map
      */
     public Set<K> keySet() {
-        HashSet<K> theSet = new HashSet<K>();
-        int count = 0;
-        for (int i = 0; i < table.length; i++) {
-            if (count >= size) {
-                break;
-            }
-            if (table[i] != null) {
-                ExternalChainingMapEntry<K, V> curr = table[i];
-                while (curr != null) {
-                    theSet.add(curr.getKey());
-                    curr = curr.getNext();
-                    count++;
-                }
-            }
+        if (keySetView == null) {
+            keySetView = new KeySet();
         }
+        return keySetView;
+
+    }
 
-        return theSet;
+    /**
+     * Returns a Collection view of the values contained in this map. The
+     * collection is backed by the map, so it reflects later changes, and
+     * removing from it removes from the map.
+     *
+     * @return the values in this map
+     */
+    public Collection<V> values() {
+        if (valuesView == null) {
+            valuesView = new Values();
+        }
+        return valuesView;
 
+    }
 
+    /**
+     * Returns a Set view of the entries contained in this map. The set is
+     * backed by the map, and setValue on an entry changes the map.
+     *
+     * @return the set of entries in this map
+     */
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySetView == null) {
+            entrySetView = new EntrySet();
+        }
+        return entrySetView;
     }
 
     /**
-     * Returns a List view of the values contained in this map.
+     * Performs the action on every key-value pair of the map without
+     * creating any objects.
      *
-     * @return list of values in this map
+     * @param action the action to perform
+     * @throws java.lang.IllegalArgumentException        if action is null
+     * @throws java.util.ConcurrentModificationException if action changes
+     *                                                   the map
      */
-    public List<V> values() {
-        List<V> theList = new ArrayList<V>();
-        int count = 0;
-        for (int i = 0; i < table.length; i++) {
-            if (count >= size) {
-                break;
-            }
-            if (table[i] != null) {
-                ExternalChainingMapEntry<K, V> curr = table[i];
-                while (curr != null) {
-                    theList.add(curr.getValue());
-                    curr = curr.getNext();
-                    count++;
-                }
-            }
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("The action you entered is null. Please enter an existing action");
+        }
+        pauseMigration();
+        int expectedModCount = modCount;
+        forEachIn(table, action);
+        if (oldTable != null) {
+            forEachIn(oldTable, action);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Gets the value associated with the given key, or defaultValue if the
+     * key is not in the map.
+     *
+     * @param key          the key to search for in the map
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value associated with the given key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V getOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        migrate();
+        ExternalChainingMapEntry<K, V> entry = lookup(key);
+        return entry == null ? defaultValue : entry.getValue();
+    }
+
+    /**
+     * Removes the entry with a matching key from the map, or returns
+     * defaultValue if the key is not in the map, so callers need not check
+     * containsKey first.
+     *
+     * @param key          the key to remove
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value previously associated with the key, or defaultValue
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public V removeOrDefault(K key, V defaultValue) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        migrate();
+        ExternalChainingMapEntry<K, V> removed = removeMapping(key);
+        if (removed == null) {
+            return defaultValue;
+        }
+        V theValue = removed.getValue();
+        removed.clearLinks();
+        return theValue;
+    }
+
+    /**
+     * Returns the value associated with the given key, first adding the
+     * value computed by mappingFunction if the key is not in the map.
+     *
+     * @param key             the key to search for in the map
+     * @param mappingFunction computes the value of a missing key, or returns
+     *                        null to add nothing
+     * @return the current or added value, or null if the key was missing and
+     * mappingFunction returned null
+     * @throws java.lang.IllegalArgumentException        if key or
+     *                                                   mappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if mappingFunction
+     *                                                   changes the map
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        if (key == null || mappingFunction == null) {
+            throw new IllegalArgumentException("The key or function you entered is null. Please enter existing data");
+        }
+        migrate();
+        ExternalChainingMapEntry<K, V> entry = entryFor(key);
+        if (entry != null) {
+            return entry.getValue();
+        }
+        int expectedModCount = modCount;
+        V value = mappingFunction.apply(key);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (value != null) {
+            insert(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Replaces the value associated with the given key by the one
+     * remappingFunction computes from the key and its current value, or
+     * null if the key is not in the map. Returning null removes the key.
+     *
+     * @param key               the key to compute a value for
+     * @param remappingFunction computes the new value from the key and the
+     *                          current value
+     * @return the new value, or null if the key is no longer in the map
+     * @throws java.lang.IllegalArgumentException        if key or
+     *                                                   remappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if remappingFunction
+     *                                                   changes the map
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        if (key == null || remappingFunction == null) {
+            throw new IllegalArgumentException("The key or function you entered is null. Please enter existing data");
+        }
+        migrate();
+        ExternalChainingMapEntry<K, V> entry = entryFor(key);
+        int expectedModCount = modCount;
+        V value = remappingFunction.apply(key, entry == null ? null : entry.getValue());
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return update(key, entry, value);
+    }
+
+    /**
+     * Adds the given key-value pair if the key is not in the map. Otherwise
+     * replaces the current value by the one remappingFunction computes from
+     * it and value, and removes the key if that is null. Counting is
+     * merge(key, 1, Integer::sum).
+     *
+     * @param key               the key to merge a value into
+     * @param value             the value to add, or to combine with the
+     *                          current one
+     * @param remappingFunction combines the current value and value
+     * @return the new value, or null if the key is no longer in the map
+     * @throws java.lang.IllegalArgumentException        if key, value or
+     *                                                   remappingFunction is
+     *                                                   null
+     * @throws java.util.ConcurrentModificationException if remappingFunction
+     *                                                   changes the map
+     */
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        if (key == null || value == null || remappingFunction == null) {
+            throw new IllegalArgumentException("The key, value or function you entered is null."
+                    + " Please enter existing data");
+        }
+        migrate();
+        ExternalChainingMapEntry<K, V> entry = entryFor(key);
+        if (entry == null) {
+            insert(key, value);
+            return value;
+        }
+        int expectedModCount = modCount;
+        V merged = remappingFunction.apply(entry.getValue(), value);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return update(key, entry, merged);
+    }
+
+    /**
+     * Adds every key-value pair of the given map, replacing the values of
+     * keys already in this map. The table is resized at most once, up front,
+     * to hold all of them.
+     *
+     * @param map the map whose entries to add
+     * @throws java.lang.IllegalArgumentException if map is null or holds a
+     *                                            null key or value
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException("The map you entered is null. Please add existing data");
+        }
+        ensureRoomFor(map.size());
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
         }
+    }
 
-        return theList;
+    /**
+     * Adds every key-value pair of the given map, replacing the values of
+     * keys already in this map. The table is resized at most once, up front,
+     * to hold all of them.
+     *
+     * @param map the map whose entries to add
+     * @throws java.lang.IllegalArgumentException if map is null
+     */
+    public void putAll(ExternalChainingHashMap<? extends K, ? extends V> map) {
+        if (map == null) {
+            throw new IllegalArgumentException("The map you entered is null. Please add existing data");
+        }
+        ensureRoomFor(map.size());
+        map.forEach(this::put);
+    }
 
+    /**
+     * Removes every entry whose key and value match filter, unlinking them
+     * from their chains in a single sweep of the table.
+     *
+     * @param filter returns true for the entries to remove
+     * @return true if any entry was removed
+     * @throws java.lang.IllegalArgumentException        if filter is null
+     * @throws java.util.ConcurrentModificationException if filter changes
+     *                                                   the map
+     */
+    public boolean removeIf(BiPredicate<? super K, ? super V> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("The filter you entered is null. Please enter an existing filter");
+        }
+        return removeEntries(entry -> filter.test(entry.getKey(), entry.getValue()));
     }
 
     /**
-     * Resizes the backing table to length.
+     * Resizes the backing table to length. This always rehashes every entry
+     * at once, even in incremental resize mode.
      *
-     * @param length new length of the backing table
+     * @param length new length of the backing table, rounded up to a power
+     *               of two in power of two mode
      * @throws java.lang.IllegalArgumentException if length is less than the
      *                                            number of items in the hash
      *                                            map
@@ -269,37 +568,20 @@ public class ExternalChainingHashMap<K, V> {
             throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
                     + " Please enter a length larger than the size.");
         }
-        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[length];
-        arr = (ExternalChainingMapEntry<K, V>[]) arr;
-        int count = 0;
-        for (int i = 0; i < table.length; i++) {
-            if (count >= size) {
-                break;
-            }
-            if (table[i] != null) {
-                ExternalChainingMapEntry<K, V> curr = table[i];
-                while (curr != null) {
-                    int hash = curr.getKey().hashCode();
-                    int compressed = Math.abs((hash % length));
-                    if (arr[compressed] != null) {
-                        ExternalChainingMapEntry<K, V> next = curr.getNext();
-                        curr.setNext(arr[compressed]);
-                        arr[compressed] = curr;
-                        curr = next;
-                        count++;
-                        continue;
-                    } else {
-                        arr[compressed] = curr;
-                        ExternalChainingMapEntry<K, V> node = curr;
-                        curr = curr.getNext();
-                        node.setNext(null);
-                        count++;
-                        continue;
-                    }
-                }
-            }
+        finishMigration();
+        modCount++;
+        ResizeEvent event = statistics == null ? null : startResize();
+        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[tableLength(length)];
+        ExternalChainingMapEntry<K, V>[] from = table;
+        AVL<TreeKey<K, V>>[] fromTrees = trees;
+        table = (ExternalChainingMapEntry<K, V>[]) arr;
+        trees = null;
+        for (int i = 0; i < from.length; i++) {
+            moveBucket(from, fromTrees, i);
+        }
+        if (event != null) {
+            endResize(event, from.length, false);
         }
-        table = arr;
 
     }
 
@@ -307,13 +589,20 @@ public class ExternalChainingHashMap<K, V> {
      * Clears the map.
      */
     public void clear() {
-        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[INITIAL_CAPACITY];
+        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[tableLength(INITIAL_CAPACITY)];
         table = (ExternalChainingMapEntry<K, V>[]) arr;
+        trees = null;
         size = 0;
+        oldTable = null;
+        oldTrees = null;
+        migrationIndex = 0;
+        modCount++;
     }
 
     /**
-     * Returns the table of the map.
+     * Returns the table of the map. While an incremental resize is in
+     * progress some entries are still in the old table and do not appear
+     * here.
      *
      * @return the table of the map
      */
@@ -321,6 +610,95 @@ public class ExternalChainingHashMap<K, V> {
         return table;
     }
 
+    /**
+     * Returns whether an incremental resize is still moving entries out of
+     * the old table.
+     *
+     * @return true if a resize is in progress, false otherwise
+     */
+    public boolean isResizing() {
+        return oldTable != null;
+    }
+
+    /**
+     * Turns statistics on or off. Turning them on starts every counter from
+     * 0, turning them off drops the counters.
+     *
+     * @param enabled true to record lookups and resizes
+     */
+    public void setStatisticsEnabled(boolean enabled) {
+        statistics = enabled ? new Statistics() : null;
+    }
+
+    /**
+     * Returns whether statistics are being recorded.
+     *
+     * @return true if statistics are enabled
+     */
+    public boolean isStatisticsEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * Returns a snapshot of the chain lengths, load factor and, if
+     * statistics are enabled, the lookup and resize counters. The chain
+     * lengths cover the old table too while an incremental resize is in
+     * progress. Walks the whole table. The snapshot is also published to the
+     * MXBean of registerStatisticsMBean.
+     *
+     * @return the statistics snapshot
+     */
+    public ExternalChainingHashMapStatistics statistics() {
+        int[] histogram = new int[1];
+        histogram = addChainLengths(histogram, table);
+        if (oldTable != null) {
+            histogram = addChainLengths(histogram, oldTable);
+        }
+        int maxLength = histogram.length - 1;
+        while (maxLength > 0 && histogram[maxLength] == 0) {
+            maxLength--;
+        }
+        Statistics counters = statistics == null ? new Statistics() : statistics;
+        ExternalChainingHashMapStatistics snapshot = new ExternalChainingHashMapStatistics(size, table.length,
+                Arrays.copyOf(histogram, maxLength + 1), countIndexed(trees) + countIndexed(oldTrees),
+                counters.lookups, counters.probes, counters.resizeCount, counters.resizeNanos);
+        if (publisher != null) {
+            publisher.snapshot = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Registers an MXBean with the platform MBean server, under
+     * datastructures.hashmap:type=ExternalChainingHashMap and the given name.
+     * The MXBean reads a snapshot the map publishes on every statistics()
+     * call and, with statistics enabled, on every resize, so the map is
+     * never read from the JMX thread. Resizes refresh the size, table
+     * length and counters, while the chain lengths are those of the last
+     * statistics() call.
+     *
+     * The MXBean holds the snapshot and not the map, but stays registered
+     * until it is unregistered with the returned name.
+     *
+     * @param name the name to register the map under
+     * @return the MXBean's object name, to unregister it with
+     * @throws java.lang.IllegalArgumentException if name is null
+     * @throws javax.management.JMException       if the name is invalid or
+     *                                            already registered
+     */
+    public ObjectName registerStatisticsMBean(String name) throws JMException {
+        if (name == null) {
+            throw new IllegalArgumentException("The name you entered is null. Please enter an existing name");
+        }
+        ObjectName objectName = new ObjectName("datastructures.hashmap:type=ExternalChainingHashMap,name="
+                + ObjectName.quote(name));
+        StatisticsPublisher newPublisher = new StatisticsPublisher();
+        publisher = newPublisher;
+        statistics();
+        ManagementFactory.getPlatformMBeanServer().registerMBean(newPublisher, objectName);
+        return objectName;
+    }
+
     /**
      * Returns the size of the map.
      *
@@ -329,4 +707,1129 @@ public class ExternalChainingHashMap<K, V> {
     public int size() {
         return size;
     }
+
+    /**
+     * Grows the table to table.length * 2 + 1, or table.length * 2 in power
+     * of two mode. In incremental resize mode this only swaps in the new
+     * empty table and leaves the entries to be moved by later operations.
+     */
+    private void grow() {
+        growTo(grownLength());
+    }
+
+    /**
+     * Grows the table to length, which must already be a valid table
+     * length. In incremental resize mode this only swaps in the new empty
+     * table and leaves the entries to be moved by later operations.
+     *
+     * @param length the new table length
+     */
+    private void growTo(int length) {
+        if (!incrementalResize) {
+            resizeBackingTable(length);
+            return;
+        }
+        // a previous resize must be done before the table can be replaced again
+        finishMigration();
+        modCount++;
+        ResizeEvent event = statistics == null ? null : startResize();
+        ExternalChainingMapEntry[] arr = new ExternalChainingMapEntry[length];
+        oldTable = table;
+        oldTrees = trees;
+        table = (ExternalChainingMapEntry<K, V>[]) arr;
+        trees = null;
+        migrationIndex = 0;
+        if (event != null) {
+            endResize(event, oldTable.length, true);
+        }
+        migrate();
+    }
+
+    /**
+     * Moves up to MIGRATION_STEP buckets of the old table into the table.
+     * Does nothing unless an incremental resize is in progress.
+     */
+    private void migrate() {
+        if (oldTable == null || migrationPaused && pausedModCount == modCount) {
+            return;
+        }
+        long start = statistics == null ? 0 : System.nanoTime();
+        int end = Math.min(migrationIndex + MIGRATION_STEP, oldTable.length);
+        for (int i = migrationIndex; i < end; i++) {
+            moveBucket(oldTable, oldTrees, i);
+        }
+        migrationIndex = end;
+        if (migrationIndex == oldTable.length) {
+            oldTable = null;
+            oldTrees = null;
+            migrationIndex = 0;
+        }
+        if (statistics != null) {
+            statistics.resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Stops migrate from moving buckets until the map is next structurally
+     * changed, so a view can walk both tables while lookups go on.
+     */
+    private void pauseMigration() {
+        migrationPaused = true;
+        pausedModCount = modCount;
+    }
+
+    /**
+     * Moves every remaining bucket of the old table into the table.
+     */
+    private void finishMigration() {
+        if (oldTable == null) {
+            return;
+        }
+        long start = statistics == null ? 0 : System.nanoTime();
+        for (int i = migrationIndex; i < oldTable.length; i++) {
+            moveBucket(oldTable, oldTrees, i);
+        }
+        oldTable = null;
+        oldTrees = null;
+        migrationIndex = 0;
+        if (statistics != null) {
+            statistics.resizeNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Relinks every entry of the bucket at index of from into the bucket its
+     * hash selects in the table, and empties the bucket in from.
+     *
+     * @param from      the table to move entries out of
+     * @param fromTrees the AVL indexes of from, or null
+     * @param index     the bucket to move
+     */
+    private void moveBucket(ExternalChainingMapEntry<K, V>[] from, AVL<TreeKey<K, V>>[] fromTrees, int index) {
+        ExternalChainingMapEntry<K, V> curr = from[index];
+        while (curr != null) {
+            ExternalChainingMapEntry<K, V> next = curr.getNext();
+            link(curr);
+            curr = next;
+        }
+        from[index] = null;
+        if (fromTrees != null) {
+            fromTrees[index] = null;
+        }
+    }
+
+    /**
+     * Links entry in at the front of the table bucket its hash selects and
+     * keeps the bucket's AVL index up to date, creating it once the chain
+     * reaches TREEIFY_THRESHOLD.
+     *
+     * @param entry the entry to link, whose key is not in the table
+     */
+    private void link(ExternalChainingMapEntry<K, V> entry) {
+        int compressed = indexFor(entry.getKey(), table.length);
+        entry.setNext(table[compressed]);
+        entry.setPrev(null);
+        if (table[compressed] != null) {
+            table[compressed].setPrev(entry);
+        }
+        table[compressed] = entry;
+        AVL<TreeKey<K, V>> tree = trees == null ? null : trees[compressed];
+        if (tree != null) {
+            int before = tree.size();
+            if (treeAccepts(tree, entry.getKey())) {
+                tree.add(new TreeKey<K, V>(entry));
+            }
+            // a key of another class, or one comparing equal to a different key
+            if (tree.size() == before) {
+                trees[compressed] = null;
+            }
+            return;
+        }
+        int length = 0;
+        ExternalChainingMapEntry<K, V> curr = table[compressed];
+        while (curr != null && length < TREEIFY_THRESHOLD) {
+            length++;
+            curr = curr.getNext();
+        }
+        if (length == TREEIFY_THRESHOLD) {
+            tree = treeify(table[compressed]);
+            if (tree != null) {
+                if (trees == null) {
+                    trees = newTrees(table.length);
+                }
+                trees[compressed] = tree;
+            }
+        }
+    }
+
+    /**
+     * Finds the entry for key like entryFor and, if statistics are enabled,
+     * records the lookup and the probes findEntry counted for it.
+     *
+     * @param key the key to search for
+     * @return the entry, or null if the key is not in the map
+     */
+    private ExternalChainingMapEntry<K, V> lookup(K key) {
+        if (statistics == null) {
+            return entryFor(key);
+        }
+        statistics.pendingProbes = 0;
+        ExternalChainingMapEntry<K, V> entry = entryFor(key);
+        statistics.lookups++;
+        statistics.probes += statistics.pendingProbes;
+        return entry;
+    }
+
+    /**
+     * Starts timing a resize.
+     *
+     * @return the resize's flight recorder event, already begun
+     */
+    private ResizeEvent startResize() {
+        ResizeEvent event = new ResizeEvent();
+        event.begin();
+        statistics.resizeStart = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Stops timing a resize, adding it to the statistics and committing its
+     * flight recorder event.
+     *
+     * @param event       the event startResize returned
+     * @param oldLength   the table length before the resize
+     * @param incremental true if the entries are left to migrate
+     */
+    private void endResize(ResizeEvent event, int oldLength, boolean incremental) {
+        event.end();
+        statistics.resizeCount++;
+        statistics.resizeNanos += System.nanoTime() - statistics.resizeStart;
+        if (publisher != null) {
+            publisher.snapshot = publisher.snapshot.withCounters(size, table.length, statistics.lookups,
+                    statistics.probes, statistics.resizeCount, statistics.resizeNanos);
+        }
+        if (event.shouldCommit()) {
+            event.oldLength = oldLength;
+            event.newLength = table.length;
+            event.size = size;
+            event.incremental = incremental;
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts the chain length of every bucket of arr into histogram.
+     *
+     * @param histogram the number of buckets with each chain length so far
+     * @param arr       the table
+     * @return histogram, or a longer copy of it if arr has longer chains
+     */
+    private static int[] addChainLengths(int[] histogram, ExternalChainingMapEntry<?, ?>[] arr) {
+        for (ExternalChainingMapEntry<?, ?> head : arr) {
+            int length = 0;
+            for (ExternalChainingMapEntry<?, ?> curr = head; curr != null; curr = curr.getNext()) {
+                length++;
+            }
+            if (length >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(length + 1, histogram.length * 2));
+            }
+            histogram[length]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Counts the buckets with an AVL index.
+     *
+     * @param arrTrees the AVL indexes of a table, or null
+     * @return the number of indexes
+     */
+    private static int countIndexed(AVL<?>[] arrTrees) {
+        if (arrTrees == null) {
+            return 0;
+        }
+        int count = 0;
+        for (AVL<?> tree : arrTrees) {
+            if (tree != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the entry for key in the table or the old table.
+     *
+     * @param key the key to search for
+     * @return the entry, or null if the key is not in the map
+     */
+    private ExternalChainingMapEntry<K, V> entryFor(K key) {
+        ExternalChainingMapEntry<K, V> entry = findEntry(table, trees, key);
+        if (entry == null && oldTable != null) {
+            entry = findEntry(oldTable, oldTrees, key);
+        }
+        return entry;
+    }
+
+    /**
+     * Links a new entry for a key that is not in the map, growing the table
+     * first if it would pass the max load factor.
+     *
+     * @param key   the key, not in the map
+     * @param value the value
+     */
+    private void insert(K key, V value) {
+        if ((((double) (size + 1)) / ((double) table.length)) > MAX_LOAD_FACTOR) {
+            grow();
+        }
+        link(new ExternalChainingMapEntry<K, V>(key, value, null));
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Stores the result of compute or merge: sets the entry's value, adds
+     * the key if it had no entry, or removes it if value is null.
+     *
+     * @param key   the key
+     * @param entry the key's entry, or null if the key is not in the map
+     * @param value the new value, or null to remove the key
+     * @return value
+     */
+    private V update(K key, ExternalChainingMapEntry<K, V> entry, V value) {
+        if (value == null) {
+            if (entry != null) {
+                removeMapping(key).clearLinks();
+            }
+        } else if (entry == null) {
+            insert(key, value);
+        } else {
+            entry.setValue(value);
+        }
+        return value;
+    }
+
+    /**
+     * Grows the table once so that the given number of new entries fit
+     * under the max load factor. In incremental resize mode the entries
+     * are moved by later operations, as with any other resize.
+     *
+     * @param additional the number of entries about to be added
+     */
+    private void ensureRoomFor(int additional) {
+        long needed = (long) size + additional;
+        if (needed > MAX_LOAD_FACTOR * table.length) {
+            int length = (int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(needed / MAX_LOAD_FACTOR));
+            growTo(tableLength(length));
+        }
+    }
+
+    /**
+     * Unlinks every entry matching filter in one sweep of the table, keeping
+     * a trailing pointer in each chain instead of looking entries up again.
+     * A bucket's AVL index is dropped before its chain is swept and rebuilt
+     * afterwards if the bucket is still large enough, so the map stays
+     * consistent even if filter throws.
+     *
+     * @param filter returns true for the entries to remove
+     * @return true if any entry was removed
+     * @throws java.util.ConcurrentModificationException if filter changes
+     *                                                   the map
+     */
+    private boolean removeEntries(Predicate<? super ExternalChainingMapEntry<K, V>> filter) {
+        finishMigration();
+        int expectedModCount = modCount;
+        boolean removed = false;
+        try {
+            for (int i = 0; i < table.length; i++) {
+                boolean indexed = trees != null && trees[i] != null;
+                if (indexed) {
+                    trees[i] = null;
+                }
+                int kept = 0;
+                ExternalChainingMapEntry<K, V> prev = null;
+                ExternalChainingMapEntry<K, V> curr = table[i];
+                while (curr != null) {
+                    ExternalChainingMapEntry<K, V> next = curr.getNext();
+                    boolean matches = filter.test(curr);
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (matches) {
+                        if (prev == null) {
+                            table[i] = next;
+                        } else {
+                            prev.setNext(next);
+                        }
+                        if (next != null) {
+                            next.setPrev(prev);
+                        }
+                        curr.clearLinks();
+                        size--;
+                        removed = true;
+                    } else {
+                        prev = curr;
+                        kept++;
+                    }
+                    curr = next;
+                }
+                if (indexed && kept > UNTREEIFY_THRESHOLD) {
+                    trees[i] = treeify(table[i]);
+                }
+            }
+        } finally {
+            if (removed) {
+                modCount++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Unlinks the entry for key from whichever table holds it, without
+     * migrating any buckets first.
+     *
+     * @param key the key to remove
+     * @return the unlinked entry, or null if the key is not in the map
+     */
+    private ExternalChainingMapEntry<K, V> removeMapping(Object key) {
+        ExternalChainingMapEntry<K, V> removed = removeEntry(table, trees, (K) key);
+        if (removed == null && oldTable != null) {
+            removed = removeEntry(oldTable, oldTrees, (K) key);
+        }
+        if (removed != null) {
+            size--;
+            modCount++;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds the entry for key in the given table. With statistics enabled,
+     * adds the entries and AVL nodes it compared key with to the pending
+     * probes, so a lookup is counted without being walked twice.
+     *
+     * @param arr      the table to search
+     * @param arrTrees the AVL indexes of arr, or null
+     * @param key      the key to search for
+     * @return the entry, or null if the key is not in arr
+     */
+    private ExternalChainingMapEntry<K, V> findEntry(ExternalChainingMapEntry<K, V>[] arr,
+                                                     AVL<TreeKey<K, V>>[] arrTrees, K key) {
+        int compressed = indexFor(key, arr.length);
+        AVL<TreeKey<K, V>> tree = arrTrees == null ? null : arrTrees[compressed];
+        ExternalChainingMapEntry<K, V> found = null;
+        int probes = 0;
+        if (tree != null && treeAccepts(tree, key)) {
+            AVLNode<TreeKey<K, V>> node = tree.getRoot();
+            while (node != null) {
+                probes++;
+                int comparison = TreeKey.compare(key, node.getData().key);
+                if (comparison == 0) {
+                    break;
+                }
+                node = comparison < 0 ? node.getLeft() : node.getRight();
+            }
+            if (node == null) {
+                return countProbes(probes, null);
+            }
+            if (node.getData().key.equals(key)) {
+                return countProbes(probes, node.getData().entry);
+            }
+        }
+        for (ExternalChainingMapEntry<K, V> curr = arr[compressed]; curr != null; curr = curr.getNext()) {
+            probes++;
+            if (curr.getKey().equals(key)) {
+                found = curr;
+                break;
+            }
+        }
+        return countProbes(probes, found);
+    }
+
+    /**
+     * Adds the probes of a findEntry call to the pending probes if
+     * statistics are enabled.
+     *
+     * @param probes the entries and AVL nodes compared
+     * @param found  the entry found
+     * @return found
+     */
+    private ExternalChainingMapEntry<K, V> countProbes(int probes, ExternalChainingMapEntry<K, V> found) {
+        if (statistics != null) {
+            statistics.pendingProbes += probes;
+        }
+        return found;
+    }
+
+    /**
+     * Unlinks the entry for key from the given table.
+     *
+     * In an indexed bucket the entry is found through the AVL and unlinked
+     * through its previous entry, without walking the chain. No other entry
+     * is touched, since entrySet hands entries out as live Map.Entry views.
+     *
+     * @param arr      the table to remove from
+     * @param arrTrees the AVL indexes of arr, or null
+     * @param key      the key to remove
+     * @return the unlinked entry, or null if the key is not in arr
+     */
+    private ExternalChainingMapEntry<K, V> removeEntry(ExternalChainingMapEntry<K, V>[] arr,
+                                                       AVL<TreeKey<K, V>>[] arrTrees, K key) {
+        int compressed = indexFor(key, arr.length);
+        AVL<TreeKey<K, V>> tree = arrTrees == null ? null : arrTrees[compressed];
+        if (tree != null && treeAccepts(tree, key)) {
+            TreeKey<K, V> match = treeSearch(tree, key);
+            if (match == null) {
+                return null;
+            }
+            if (match.entry.getKey().equals(key)) {
+                ExternalChainingMapEntry<K, V> found = match.entry;
+                tree.remove(match);
+                unlink(arr, compressed, found);
+                if (tree.size() <= UNTREEIFY_THRESHOLD) {
+                    arrTrees[compressed] = null;
+                }
+                return found;
+            }
+        }
+        ExternalChainingMapEntry<K, V> curr = arr[compressed];
+        while (curr != null) {
+            if (curr.getKey().equals(key)) {
+                unlink(arr, compressed, curr);
+                // only reached in an indexed bucket if equals and compareTo disagree
+                if (arrTrees != null) {
+                    arrTrees[compressed] = null;
+                }
+                return curr;
+            }
+            curr = curr.getNext();
+        }
+        return null;
+    }
+
+    /**
+     * Unlinks the entry from its chain through its previous and next
+     * entries.
+     *
+     * @param arr        the table holding the chain
+     * @param compressed the index of the chain's bucket
+     * @param entry      the entry to unlink
+     */
+    private static <K, V> void unlink(ExternalChainingMapEntry<K, V>[] arr, int compressed,
+                                      ExternalChainingMapEntry<K, V> entry) {
+        ExternalChainingMapEntry<K, V> prev = entry.getPrev();
+        ExternalChainingMapEntry<K, V> next = entry.getNext();
+        if (prev == null) {
+            arr[compressed] = next;
+        } else {
+            prev.setNext(next);
+        }
+        if (next != null) {
+            next.setPrev(prev);
+        }
+        entry.setNext(null);
+        entry.setPrev(null);
+    }
+
+    /**
+     * Builds the AVL index of a chain, if every key in it is of the same
+     * Comparable class and no two keys compare as equal.
+     *
+     * @param head the first entry of the chain
+     * @return the index, or null if the chain cannot be indexed
+     */
+    private AVL<TreeKey<K, V>> treeify(ExternalChainingMapEntry<K, V> head) {
+        if (!(head.getKey() instanceof Comparable)) {
+            return null;
+        }
+        Class<?> keyClass = head.getKey().getClass();
+        int length = 0;
+        for (ExternalChainingMapEntry<K, V> curr = head; curr != null; curr = curr.getNext()) {
+            if (curr.getKey().getClass() != keyClass) {
+                return null;
+            }
+            length++;
+        }
+        AVL<TreeKey<K, V>> tree = new AVL<>();
+        for (ExternalChainingMapEntry<K, V> curr = head; curr != null; curr = curr.getNext()) {
+            tree.add(new TreeKey<K, V>(curr));
+        }
+        return tree.size() == length ? tree : null;
+    }
+
+    /**
+     * Returns whether key can be compared with the keys of the tree, which
+     * all share one class.
+     *
+     * @param tree a non empty AVL index
+     * @param key  the key
+     * @return true if key is of the tree's key class
+     */
+    private boolean treeAccepts(AVL<TreeKey<K, V>> tree, K key) {
+        return tree.getRoot().getData().key.getClass() == key.getClass();
+    }
+
+    /**
+     * Searches the AVL index for a key comparing as equal to key.
+     *
+     * @param tree the AVL index
+     * @param key  the key, of the tree's key class
+     * @return the matching tree key, or null if there is none
+     */
+    private TreeKey<K, V> treeSearch(AVL<TreeKey<K, V>> tree, K key) {
+        AVLNode<TreeKey<K, V>> node = tree.getRoot();
+        while (node != null) {
+            int comparison = TreeKey.compare(key, node.getData().key);
+            if (comparison == 0) {
+                return node.getData();
+            }
+            node = comparison < 0 ? node.getLeft() : node.getRight();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the bucket of key in a table of the given length.
+     *
+     * @param key    the key, not null
+     * @param length the table length
+     * @return the bucket index
+     */
+    private int indexFor(K key, int length) {
+        int hash = key.hashCode();
+        if (powerOfTwo) {
+            return Hashing.spread(hash) & (length - 1);
+        }
+        return Math.abs((hash % length));
+    }
+
+    /**
+     * Returns the table length to allocate for a requested length.
+     *
+     * @param length the requested length
+     * @return length, or the next power of two in power of two mode
+     */
+    private int tableLength(int length) {
+        return powerOfTwo ? Hashing.powerOfTwoAtLeast(length) : length;
+    }
+
+    /**
+     * Performs the action on every key-value pair of a table.
+     *
+     * @param arr    the table
+     * @param action the action to perform
+     */
+    private static <K, V> void forEachIn(ExternalChainingMapEntry<K, V>[] arr,
+                                         BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < arr.length; i++) {
+            for (ExternalChainingMapEntry<K, V> curr = arr[i]; curr != null; curr = curr.getNext()) {
+                action.accept(curr.getKey(), curr.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns a bucket of a table and old table walked one after the other.
+     *
+     * @param arr    the table
+     * @param oldArr the old table, or null
+     * @param index  the bucket, counting on into oldArr past the end of arr
+     * @return the first entry of the bucket, or null if it is empty
+     */
+    private static <K, V> ExternalChainingMapEntry<K, V> bucket(ExternalChainingMapEntry<K, V>[] arr,
+                                                               ExternalChainingMapEntry<K, V>[] oldArr, int index) {
+        return index < arr.length ? arr[index] : oldArr[index - arr.length];
+    }
+
+    /**
+     * Returns the length the table grows to when it passes the max load
+     * factor.
+     *
+     * @return the grown table length
+     */
+    private int grownLength() {
+        return powerOfTwo ? table.length * 2 : table.length * 2 + 1;
+    }
+
+    /**
+     * Creates an array for the AVL indexes of a table of the given length.
+     *
+     * @param length the table length
+     * @return an array of null indexes
+     */
+    private AVL<TreeKey<K, V>>[] newTrees(int length) {
+        AVL[] arr = new AVL[length];
+        return (AVL<TreeKey<K, V>>[]) arr;
+    }
+
+    /**
+     * The keySet() view.
+     */
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            return new ViewIterator<K>(ExternalChainingMapEntry::getKey);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o != null && containsKey((K) o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (o == null) {
+                return false;
+            }
+            migrate();
+            ExternalChainingMapEntry<K, V> removed = removeMapping(o);
+            if (removed == null) {
+                return false;
+            }
+            removed.clearLinks();
+            return true;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super K> filter) {
+            if (filter == null) {
+                throw new NullPointerException();
+            }
+            return removeEntries(entry -> filter.test(entry.getKey()));
+        }
+
+        @Override
+        public Spliterator<K> spliterator() {
+            return new BucketSpliterator<K>(ExternalChainingMapEntry::getKey, Spliterator.DISTINCT);
+        }
+    }
+
+    /**
+     * The values() view.
+     */
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ViewIterator<V>(ExternalChainingMapEntry::getValue);
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super V> filter) {
+            if (filter == null) {
+                throw new NullPointerException();
+            }
+            return removeEntries(entry -> filter.test(entry.getValue()));
+        }
+
+        @Override
+        public Spliterator<V> spliterator() {
+            return new BucketSpliterator<V>(ExternalChainingMapEntry::getValue, 0);
+        }
+    }
+
+    /**
+     * The entrySet() view.
+     */
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            ExternalChainingHashMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new ViewIterator<Map.Entry<K, V>>(entry -> entry);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            ExternalChainingMapEntry<K, V> entry = matchingEntry(o);
+            return entry != null;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            ExternalChainingMapEntry<K, V> entry = matchingEntry(o);
+            if (entry == null) {
+                return false;
+            }
+            removeMapping(entry.getKey()).clearLinks();
+            return true;
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super Map.Entry<K, V>> filter) {
+            if (filter == null) {
+                throw new NullPointerException();
+            }
+            return removeEntries(filter);
+        }
+
+        @Override
+        public Spliterator<Map.Entry<K, V>> spliterator() {
+            return new BucketSpliterator<Map.Entry<K, V>>(entry -> entry, Spliterator.DISTINCT);
+        }
+
+        /**
+         * Finds the entry of the map equal to o.
+         *
+         * @param o the object to look for
+         * @return the map's entry with o's key and value, or null if there
+         * is none
+         */
+        private ExternalChainingMapEntry<K, V> matchingEntry(Object o) {
+            if (!(o instanceof Map.Entry) || ((Map.Entry<?, ?>) o).getKey() == null) {
+                return null;
+            }
+            Map.Entry<?, ?> wanted = (Map.Entry<?, ?>) o;
+            migrate();
+            K key = (K) wanted.getKey();
+            ExternalChainingMapEntry<K, V> entry = findEntry(table, trees, key);
+            if (entry == null && oldTable != null) {
+                entry = findEntry(oldTable, oldTrees, key);
+            }
+            return entry != null && entry.getValue().equals(wanted.getValue()) ? entry : null;
+        }
+    }
+
+    /**
+     * Iterator of the views. Walks the table and then the old table bucket
+     * by bucket and maps every entry to the element the view hands out.
+     */
+    private final class ViewIterator<E> implements Iterator<E> {
+
+        private final Function<ExternalChainingMapEntry<K, V>, E> element;
+        private final ExternalChainingMapEntry<K, V>[] arr;
+        private final ExternalChainingMapEntry<K, V>[] oldArr;
+        private int index;
+        private ExternalChainingMapEntry<K, V> next;
+        private ExternalChainingMapEntry<K, V> lastReturned;
+        private int expectedModCount;
+
+        /**
+         * Constructs a new ViewIterator positioned before the first entry.
+         *
+         * @param element maps an entry to the element to return
+         */
+        ViewIterator(Function<ExternalChainingMapEntry<K, V>, E> element) {
+            this.element = element;
+            pauseMigration();
+            arr = table;
+            oldArr = oldTable;
+            expectedModCount = modCount;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next == null) {
+                throw new NoSuchElementException("There are no more entries in the map");
+            }
+            lastReturned = next;
+            next = next.getNext();
+            advance();
+            return element.apply(lastReturned);
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException("next() has not been called since the last remove()");
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // next is already past lastReturned, so unlinking it is safe
+            removeMapping(lastReturned.getKey()).clearLinks();
+            lastReturned = null;
+            expectedModCount = modCount;
+            pauseMigration();
+        }
+
+        /**
+         * Moves next to the first entry of the following non empty bucket if
+         * the current chain is used up.
+         */
+        private void advance() {
+            int buckets = arr.length + (oldArr == null ? 0 : oldArr.length);
+            while (next == null && index < buckets) {
+                next = bucket(arr, oldArr, index++);
+            }
+        }
+    }
+
+    /**
+     * Spliterator of the views over a range of buckets of the table followed
+     * by the old table. Splits the range in half, so the parts hold about
+     * the same number of entries.
+     */
+    private final class BucketSpliterator<E> implements Spliterator<E> {
+
+        private final Function<ExternalChainingMapEntry<K, V>, E> element;
+        private final ExternalChainingMapEntry<K, V>[] arr;
+        private final ExternalChainingMapEntry<K, V>[] oldArr;
+        private final int expectedModCount;
+        private int characteristics;
+        private int index;
+        private int fence;
+        private long estimate;
+        private ExternalChainingMapEntry<K, V> current;
+
+        /**
+         * Constructs a new BucketSpliterator over the whole table.
+         *
+         * @param element         maps an entry to the element to return
+         * @param characteristics the characteristics besides SIZED and
+         *                        NONNULL
+         */
+        BucketSpliterator(Function<ExternalChainingMapEntry<K, V>, E> element, int characteristics) {
+            pauseMigration();
+            this.element = element;
+            this.arr = table;
+            this.oldArr = oldTable;
+            this.characteristics = characteristics | Spliterator.SIZED | Spliterator.NONNULL;
+            this.expectedModCount = modCount;
+            this.index = 0;
+            this.fence = arr.length + (oldArr == null ? 0 : oldArr.length);
+            this.estimate = size;
+        }
+
+        /**
+         * Constructs a new BucketSpliterator over part of another one's range.
+         *
+         * @param parent the spliterator being split
+         * @param index  the first bucket
+         * @param fence  one past the last bucket
+         */
+        private BucketSpliterator(BucketSpliterator<E> parent, int index, int fence) {
+            this.element = parent.element;
+            this.arr = parent.arr;
+            this.oldArr = parent.oldArr;
+            // the size of a range of buckets is only an estimate
+            this.characteristics = parent.characteristics & ~Spliterator.SIZED;
+            this.expectedModCount = parent.expectedModCount;
+            this.index = index;
+            this.fence = fence;
+            this.estimate = parent.estimate;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = bucket(arr, oldArr, index++);
+                } else {
+                    E e = element.apply(current);
+                    current = current.getNext();
+                    action.accept(e);
+                    if (modCount != expectedModCount) {
+                        throw new ConcurrentModificationException();
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+            while (current != null || index < fence) {
+                if (current == null) {
+                    current = bucket(arr, oldArr, index++);
+                } else {
+                    action.accept(element.apply(current));
+                    current = current.getNext();
+                }
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int mid = (index + fence) >>> 1;
+            if (current != null || mid <= index) {
+                return null;
+            }
+            estimate >>>= 1;
+            characteristics &= ~Spliterator.SIZED;
+            BucketSpliterator<E> prefix = new BucketSpliterator<>(this, index, mid);
+            index = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    /**
+     * The MXBean of registerStatisticsMBean. Serves the snapshot last
+     * published by the map's thread and holds no reference to the map.
+     */
+    private static final class StatisticsPublisher implements ExternalChainingHashMapMXBean {
+
+        private volatile ExternalChainingHashMapStatistics snapshot;
+
+        @Override
+        public int getSize() {
+            return snapshot.getSize();
+        }
+
+        @Override
+        public int getTableLength() {
+            return snapshot.getTableLength();
+        }
+
+        @Override
+        public double getLoadFactor() {
+            return snapshot.getLoadFactor();
+        }
+
+        @Override
+        public int[] getChainLengthHistogram() {
+            return snapshot.getChainLengthHistogram();
+        }
+
+        @Override
+        public int getMaxChainLength() {
+            return snapshot.getMaxChainLength();
+        }
+
+        @Override
+        public int getIndexedBuckets() {
+            return snapshot.getIndexedBuckets();
+        }
+
+        @Override
+        public long getLookups() {
+            return snapshot.getLookups();
+        }
+
+        @Override
+        public double getAverageProbesPerGet() {
+            return snapshot.getAverageProbesPerGet();
+        }
+
+        @Override
+        public int getResizeCount() {
+            return snapshot.getResizeCount();
+        }
+
+        @Override
+        public long getTotalResizeNanos() {
+            return snapshot.getTotalResizeNanos();
+        }
+    }
+
+    /**
+     * The counters kept while statistics are enabled.
+     */
+    private static final class Statistics {
+
+        private long lookups;
+        private long probes;
+        // the probes of the lookup in progress, counted by findEntry
+        private long pendingProbes;
+        private int resizeCount;
+        private long resizeNanos;
+        private long resizeStart;
+    }
+
+    /**
+     * The element of a bucket's AVL index: a key together with the chain
+     * entry holding it. Ordered and compared by key only.
+     */
+    private static final class TreeKey<K, V> implements Comparable<TreeKey<K, V>> {
+
+        private final K key;
+        private final ExternalChainingMapEntry<K, V> entry;
+
+        /**
+         * Constructs a new TreeKey for the entry.
+         *
+         * @param entry the chain entry
+         */
+        TreeKey(ExternalChainingMapEntry<K, V> entry) {
+            this.key = entry.getKey();
+            this.entry = entry;
+        }
+
+        /**
+         * Compares two keys of the same Comparable class.
+         *
+         * @param a the first key
+         * @param b the second key
+         * @return the result of a.compareTo(b)
+         */
+        @SuppressWarnings("unchecked")
+        static int compare(Object a, Object b) {
+            return ((Comparable<Object>) a).compareTo(b);
+        }
+
+        @Override
+        public int compareTo(TreeKey<K, V> other) {
+            return compare(key, other.key);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TreeKey && ((TreeKey<?, ?>) o).key.equals(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
+    }
 }
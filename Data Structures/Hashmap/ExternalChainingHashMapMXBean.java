@@ -0,0 +1,85 @@
+package datastructures.hashmap;
+
+/**
+ * Management interface of an ExternalChainingHashMap registered with
+ * registerStatisticsMBean. Every attribute reads the snapshot the map last
+ * published, on a statistics() call or a resize.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public interface ExternalChainingHashMapMXBean {
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size of the map
+     */
+    int getSize();
+
+    /**
+     * Returns the length of the table.
+     *
+     * @return the table length
+     */
+    int getTableLength();
+
+    /**
+     * Returns the size divided by the table length.
+     *
+     * @return the load factor
+     */
+    double getLoadFactor();
+
+    /**
+     * Returns how many buckets hold chains of each length: element i is the
+     * number of buckets with i entries.
+     *
+     * @return the chain length histogram
+     */
+    int[] getChainLengthHistogram();
+
+    /**
+     * Returns the length of the longest chain.
+     *
+     * @return the longest chain length
+     */
+    int getMaxChainLength();
+
+    /**
+     * Returns the number of buckets with an AVL index.
+     *
+     * @return the number of indexed buckets
+     */
+    int getIndexedBuckets();
+
+    /**
+     * Returns the number of lookups recorded.
+     *
+     * @return the number of lookups
+     */
+    long getLookups();
+
+    /**
+     * Returns the average number of entries or AVL nodes a recorded lookup
+     * compared its key with.
+     *
+     * @return the average probes per lookup, or 0 if none were recorded
+     */
+    double getAverageProbesPerGet();
+
+    /**
+     * Returns the number of resizes recorded.
+     *
+     * @return the resize count
+     */
+    int getResizeCount();
+
+    /**
+     * Returns the total time spent resizing, including the buckets moved by
+     * an incremental resize, in nanoseconds.
+     *
+     * @return the total resize time
+     */
+    long getTotalResizeNanos();
+}
@@ -0,0 +1,131 @@
+package datastructures.hashmap;
+
+import java.util.Arrays;
+
+/**
+ * A snapshot of the shape of an ExternalChainingHashMap and of the counters
+ * it keeps while statistics are enabled, taken by statistics().
+ *
+ * The chain lengths show whether hashCodes spread the keys evenly, the
+ * average probes per get what that costs lookups, and the resize count and
+ * time what growing the table costs. The counters are 0 unless statistics
+ * were enabled.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class ExternalChainingHashMapStatistics implements ExternalChainingHashMapMXBean {
+
+    private final int size;
+    private final int tableLength;
+    private final int[] chainLengthHistogram;
+    private final int indexedBuckets;
+    private final long lookups;
+    private final long probes;
+    private final int resizeCount;
+    private final long totalResizeNanos;
+
+    /**
+     * Constructs a new ExternalChainingHashMapStatistics.
+     *
+     * @param size                 the number of entries
+     * @param tableLength          the length of the table
+     * @param chainLengthHistogram the number of buckets with each chain
+     *                             length, not copied
+     * @param indexedBuckets       the number of buckets with an AVL index
+     * @param lookups              the number of recorded lookups
+     * @param probes               the number of probes of those lookups
+     * @param resizeCount          the number of recorded resizes
+     * @param totalResizeNanos     the time spent resizing
+     */
+    ExternalChainingHashMapStatistics(int size, int tableLength, int[] chainLengthHistogram, int indexedBuckets,
+                                      long lookups, long probes, int resizeCount, long totalResizeNanos) {
+        this.size = size;
+        this.tableLength = tableLength;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.indexedBuckets = indexedBuckets;
+        this.lookups = lookups;
+        this.probes = probes;
+        this.resizeCount = resizeCount;
+        this.totalResizeNanos = totalResizeNanos;
+    }
+
+    /**
+     * Returns a copy with new sizes and counters, keeping the chain lengths
+     * and indexed buckets, which only a walk of the table can update.
+     *
+     * @param size             the number of entries
+     * @param tableLength      the length of the table
+     * @param lookups          the number of recorded lookups
+     * @param probes           the number of probes of those lookups
+     * @param resizeCount      the number of recorded resizes
+     * @param totalResizeNanos the time spent resizing
+     * @return the updated snapshot
+     */
+    ExternalChainingHashMapStatistics withCounters(int size, int tableLength, long lookups, long probes,
+                                                   int resizeCount, long totalResizeNanos) {
+        return new ExternalChainingHashMapStatistics(size, tableLength, chainLengthHistogram, indexedBuckets,
+                lookups, probes, resizeCount, totalResizeNanos);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getTableLength() {
+        return tableLength;
+    }
+
+    @Override
+    public double getLoadFactor() {
+        return (double) size / tableLength;
+    }
+
+    @Override
+    public int[] getChainLengthHistogram() {
+        return Arrays.copyOf(chainLengthHistogram, chainLengthHistogram.length);
+    }
+
+    @Override
+    public int getMaxChainLength() {
+        return chainLengthHistogram.length - 1;
+    }
+
+    @Override
+    public int getIndexedBuckets() {
+        return indexedBuckets;
+    }
+
+    @Override
+    public long getLookups() {
+        return lookups;
+    }
+
+    @Override
+    public double getAverageProbesPerGet() {
+        return lookups == 0 ? 0 : (double) probes / lookups;
+    }
+
+    @Override
+    public int getResizeCount() {
+        return resizeCount;
+    }
+
+    @Override
+    public long getTotalResizeNanos() {
+        return totalResizeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size + ", tableLength=" + tableLength
+                + ", loadFactor=" + String.format("%.3f", getLoadFactor())
+                + ", chainLengths=" + Arrays.toString(chainLengthHistogram)
+                + ", indexedBuckets=" + indexedBuckets
+                + ", averageProbesPerGet=" + String.format("%.3f", getAverageProbesPerGet())
+                + ", resizes=" + resizeCount
+                + ", resizeMillis=" + totalResizeNanos / 1_000_000;
+    }
+}
@@ -1,14 +1,22 @@
+package datastructures.hashmap;
+
+import java.util.Map;
+
 /**
  * Map entry class used for implementing the ExternalChainingHshMap.
  *
+ * Entries are what the map's entrySet() view hands out, so they follow the
+ * Map.Entry contract for equals and hashCode.
+ *
  * @author Ian Andrew McLeod
  * @version 1.0
  */
-public class ExternalChainingMapEntry<K, V> {
+public class ExternalChainingMapEntry<K, V> implements Map.Entry<K, V> {
 
     private K key;
     private V value;
     private ExternalChainingMapEntry<K, V> next;
+    private ExternalChainingMapEntry<K, V> prev;
 
     /**
      * Constructs a new LinearProbingMapEntry with only the given key and value.
@@ -40,7 +48,8 @@ public class ExternalChainingMapEntry<K, V> {
      *
      * @return the key
      */
-    K getKey() {
+    @Override
+    public K getKey() {
         return key;
     }
 
@@ -49,7 +58,8 @@ public class ExternalChainingMapEntry<K, V> {
      *
      * @return the value
      */
-    V getValue() {
+    @Override
+    public V getValue() {
         return value;
     }
 
@@ -62,6 +72,15 @@ public class ExternalChainingMapEntry<K, V> {
         return next;
     }
 
+    /**
+     * Gets the previous entry, null for the first entry of a chain.
+     *
+     * @return the previous entry
+     */
+    ExternalChainingMapEntry<K, V> getPrev() {
+        return prev;
+    }
+
     /**
      * Sets the key.
      *
@@ -75,9 +94,27 @@ public class ExternalChainingMapEntry<K, V> {
      * Sets the value.
      *
      * @param value the new value
+     * @return the old value
+     * @throws java.lang.IllegalArgumentException if value is null
      */
-    void setValue(V value) {
+    @Override
+    public V setValue(V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value you entered is null. Please enter existing data");
+        }
+        V oldValue = this.value;
         this.value = value;
+        return oldValue;
+    }
+
+    /**
+     * Clears the next and previous entries of an entry that was removed from
+     * the map. The key and value stay, since the caller may still hold the
+     * entry through entrySet.
+     */
+    void clearLinks() {
+        next = null;
+        prev = null;
     }
 
     /**
@@ -89,6 +126,15 @@ public class ExternalChainingMapEntry<K, V> {
         this.next = next;
     }
 
+    /**
+     * Sets the previous entry.
+     *
+     * @param prev the new previous entry
+     */
+    void setPrev(ExternalChainingMapEntry<K, V> prev) {
+        this.prev = prev;
+    }
+
     @Override
     public String toString() {
         String key = this.key == null ? "null" : this.key.toString();
@@ -97,14 +143,17 @@ public class ExternalChainingMapEntry<K, V> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public boolean equals(Object o) {
-        if (!(o instanceof ExternalChainingMapEntry)) {
+        if (!(o instanceof Map.Entry)) {
             return false;
         } else {
-            ExternalChainingMapEntry<K, V> that =
-                (ExternalChainingMapEntry<K, V>) o;
-            return that.getKey().equals(key) && that.getValue().equals(value);
+            Map.Entry<?, ?> that = (Map.Entry<?, ?>) o;
+            return key.equals(that.getKey()) && value.equals(that.getValue());
         }
     }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode() ^ value.hashCode();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,342 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a HashMap specialized for int keys.
+ *
+ * Keys are stored in an int[] and values in a parallel array, so keys are never
+ * boxed and no entry objects are created. Collisions are resolved by linear
+ * probing, and removal shifts the following entries back instead of leaving
+ * tombstones.
+ *
+ * The key 0 marks an empty slot. The key 0 itself is still allowed and is
+ * kept outside of the table in its own field.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class IntObjectHashMap<V> {
+
+    /*
+     * The initial capacity of the IntObjectHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the IntObjectHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    private static final int EMPTY = 0;
+
+    private int[] keys;
+    private V[] values;
+    private boolean hasZeroKey;
+    private V zeroValue;
+    private int size;
+
+    /**
+     * Constructs a new IntObjectHashMap.
+     */
+    public IntObjectHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new IntObjectHashMap.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays,
+     *                        rounded up to a power of two
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public IntObjectHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity is negative."
+                    + " Please enter a capacity of at least 0.");
+        }
+        int length = Hashing.powerOfTwoAtLeast(initialCapacity);
+        keys = new int[length];
+        values = allocate(length);
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if value is null
+     */
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The value you entered is null. Please add existing data");
+        }
+        if (key == EMPTY) {
+            V oldValue = hasZeroKey ? zeroValue : null;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                V oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size + 1 > MAX_LOAD_FACTOR * keys.length) {
+            resizeBackingTable(keys.length * 2);
+            mask = keys.length - 1;
+            index = mix(key) & mask;
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V remove(int key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                throw new NoSuchElementException("The key you entered is not in the map");
+            }
+            V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            size--;
+            return oldValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        V oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public V get(int key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                throw new NoSuchElementException("The key you entered is not in the map");
+            }
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(int key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the keys contained in this map, in no particular order.
+     *
+     * @return a new array of the keys in this map
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = EMPTY;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result[count++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map, in the same
+     * order as keys().
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> theList = new ArrayList<V>(size);
+        if (hasZeroKey) {
+            theList.add(zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                theList.add(values[i]);
+            }
+        }
+        return theList;
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to a power of two and
+     * then doubled until the entries fit under the max load factor, so the
+     * table always keeps an empty slot to end every probe.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
+                    + " Please enter a length larger than the size.");
+        }
+        int[] oldKeys = keys;
+        V[] oldValues = values;
+        int newLength = Hashing.powerOfTwoAtLeast(length);
+        while (size > MAX_LOAD_FACTOR * newLength) {
+            newLength *= 2;
+        }
+        keys = new int[newLength];
+        values = allocate(newLength);
+        int mask = newLength - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        keys = new int[INITIAL_CAPACITY];
+        values = allocate(INITIAL_CAPACITY);
+        hasZeroKey = false;
+        zeroValue = null;
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding key.
+     *
+     * @param key the key to search for, not 0
+     * @return the slot index, or -1 if the key is not in the table
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the slot at index and moves back every following entry of the
+     * run that would otherwise become unreachable.
+     *
+     * @param index the slot to empty
+     */
+    private void shiftKeys(int index) {
+        int mask = keys.length - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            while (true) {
+                if (keys[index] == EMPTY) {
+                    keys[last] = EMPTY;
+                    values[last] = null;
+                    return;
+                }
+                int home = mix(keys[index]) & mask;
+                // move the entry only if last lies between its home and index
+                if (last <= index ? last >= home || home > index : last >= home && home > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = keys[index];
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * Allocates an empty values array.
+     *
+     * @param length the length of the array
+     * @return the new array
+     */
+    @SuppressWarnings("unchecked")
+    private V[] allocate(int length) {
+        return (V[]) new Object[length];
+    }
+
+    /**
+     * Mixes every bit of the key into the low bits, which are the only ones
+     * the mask keeps.
+     *
+     * @param key the key
+     * @return the mixed hash
+     */
+    static int mix(int key) {
+        return Hashing.spread(key);
+    }
+}
@@ -0,0 +1,336 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a HashMap specialized for long keys and long values.
+ *
+ * Keys and values are stored in a long[] each, so nothing is boxed and no
+ * entry objects are created. Collisions are resolved by linear probing, and
+ * removal shifts the following entries back instead of leaving tombstones.
+ *
+ * The key 0 marks an empty slot. The key 0 itself is still allowed and is
+ * kept outside of the table in its own field.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class LongLongHashMap {
+
+    /*
+     * The initial capacity of the LongLongHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the LongLongHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /*
+     * The value put returns when the key was not already in the map, unless
+     * another one is given to the constructor.
+     */
+    public static final long DEFAULT_NO_ENTRY_VALUE = 0L;
+
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private boolean hasZeroKey;
+    private long zeroValue;
+    private final long noEntryValue;
+    private int size;
+
+    /**
+     * Constructs a new LongLongHashMap.
+     */
+    public LongLongHashMap() {
+        this(INITIAL_CAPACITY, DEFAULT_NO_ENTRY_VALUE);
+    }
+
+    /**
+     * Constructs a new LongLongHashMap.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays,
+     *                        rounded up to a power of two
+     * @param noEntryValue    the value put returns when the key was not
+     *                        already in the map
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public LongLongHashMap(int initialCapacity, long noEntryValue) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity is negative."
+                    + " Please enter a capacity of at least 0.");
+        }
+        int length = Hashing.powerOfTwoAtLeast(initialCapacity);
+        keys = new long[length];
+        values = new long[length];
+        this.noEntryValue = noEntryValue;
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return the no entry value if the key was not already in the map. If it
+     * was in the map, return the old value associated with it
+     */
+    public long put(long key, long value) {
+        if (key == EMPTY) {
+            long oldValue = hasZeroKey ? zeroValue : noEntryValue;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return oldValue;
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                long oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size + 1 > MAX_LOAD_FACTOR * keys.length) {
+            resizeBackingTable(keys.length * 2);
+            mask = keys.length - 1;
+            index = mix(key) & mask;
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return noEntryValue;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public long remove(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                throw new NoSuchElementException("The key you entered is not in the map");
+            }
+            hasZeroKey = false;
+            size--;
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        long oldValue = values[index];
+        shiftKeys(index);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.util.NoSuchElementException if the key is not in the map
+     */
+    public long get(long key) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                throw new NoSuchElementException("The key you entered is not in the map");
+            }
+            return zeroValue;
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     */
+    public boolean containsKey(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the keys contained in this map, in no particular order.
+     *
+     * @return a new array of the keys in this map
+     */
+    public long[] keys() {
+        long[] result = new long[size];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = EMPTY;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result[count++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the values contained in this map, in the same order as keys().
+     *
+     * @return a new array of the values in this map
+     */
+    public long[] values() {
+        long[] result = new long[size];
+        int count = 0;
+        if (hasZeroKey) {
+            result[count++] = zeroValue;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                result[count++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to a power of two and
+     * then doubled until the entries fit under the max load factor, so the
+     * table always keeps an empty slot to end every probe.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
+                    + " Please enter a length larger than the size.");
+        }
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        int newLength = Hashing.powerOfTwoAtLeast(length);
+        while (size > MAX_LOAD_FACTOR * newLength) {
+            newLength *= 2;
+        }
+        keys = new long[newLength];
+        values = new long[newLength];
+        int mask = newLength - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        keys = new long[INITIAL_CAPACITY];
+        values = new long[INITIAL_CAPACITY];
+        hasZeroKey = false;
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding key.
+     *
+     * @param key the key to search for, not 0
+     * @return the slot index, or -1 if the key is not in the table
+     */
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (keys[index] != EMPTY) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empties the slot at index and moves back every following entry of the
+     * run that would otherwise become unreachable.
+     *
+     * @param index the slot to empty
+     */
+    private void shiftKeys(int index) {
+        int mask = keys.length - 1;
+        while (true) {
+            int last = index;
+            index = (index + 1) & mask;
+            while (true) {
+                if (keys[index] == EMPTY) {
+                    keys[last] = EMPTY;
+                    return;
+                }
+                int home = mix(keys[index]) & mask;
+                // move the entry only if last lies between its home and index
+                if (last <= index ? last >= home || home > index : last >= home && home > index) {
+                    break;
+                }
+                index = (index + 1) & mask;
+            }
+            keys[last] = keys[index];
+            values[last] = values[index];
+        }
+    }
+
+    /**
+     * Mixes every bit of the key into the low bits, which are the only ones
+     * the mask keeps.
+     *
+     * @param key the key
+     * @return the mixed hash
+     */
+    static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,57 @@
+package datastructures.hashmap;
+
+/**
+ * Least recently used eviction: the entry that was read or written longest
+ * ago is evicted first.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class LruPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    private final CacheEntryList<K, V> order = new CacheEntryList<>();
+
+    /**
+     * Constructs a new LruPolicy.
+     *
+     * @param maximumWeight the maximum weight of the cache, unused since
+     *                      LRU needs no sizing
+     */
+    public LruPolicy(long maximumWeight) {
+    }
+
+    @Override
+    public void recordInsert(CacheEntry<K, V> entry) {
+        order.addLast(entry);
+    }
+
+    @Override
+    public void recordHit(CacheEntry<K, V> entry) {
+        order.moveToLast(entry);
+    }
+
+    @Override
+    public void recordMiss(int hash) {
+    }
+
+    @Override
+    public void recordUpdate(CacheEntry<K, V> entry, int oldWeight) {
+        order.reweigh(entry.getWeight() - oldWeight);
+        order.moveToLast(entry);
+    }
+
+    @Override
+    public void recordRemove(CacheEntry<K, V> entry) {
+        order.remove(entry);
+    }
+
+    @Override
+    public CacheEntry<K, V> victim() {
+        return order.first();
+    }
+
+    @Override
+    public void clear() {
+        order.clear();
+    }
+}
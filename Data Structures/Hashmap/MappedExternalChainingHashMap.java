@@ -0,0 +1,678 @@
+package datastructures.hashmap;
+
+import datastructures.util.DirectBuffers;
+import datastructures.util.FileLocks;
+import datastructures.util.Hashing;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of an ExternalChainingHashMap kept in a memory-mapped
+ * file, for keys and values of a fixed number of bytes. Reopening the file
+ * gives back the map as it was, without adding the entries again.
+ *
+ * The file holds a header, the entry records and then the table of bucket
+ * heads:
+ *
+ * <pre>
+ *     | header (64 bytes) | entries (capacity records) | table (int per bucket) |
+ *     record: | next (int) | hash (int) | state (int) | key | value |
+ * </pre>
+ *
+ * A reference is a record's position plus one, so 0 means null. Removed
+ * records go on a free list threaded through their next field and are
+ * reused. When the records are full, the file is doubled and mapped again,
+ * and the table, which now lives further along the file, is rebuilt from
+ * the records.
+ *
+ * A record's state is written last when it is added and first when it is
+ * removed, so the records alone always tell which entries are in the map.
+ * The header remembers whether the map was closed cleanly. If it was not,
+ * because the process died, opening the file rebuilds the table and free
+ * list from the records in one sequential pass. Otherwise the table is used
+ * as it is. A value replaced in place can be torn if the process dies
+ * during the write. Changes reach the disk when the operating system writes
+ * the pages back, or at the latest on flush() or close().
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class MappedExternalChainingHashMap implements AutoCloseable {
+
+    /*
+     * The initial length of the table of a new file.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the MappedExternalChainingHashMap. The file
+     * holds this fraction of the table length in records.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /*
+     * The longest table, whose 4 byte references still fit one mapping.
+     */
+    public static final int MAX_TABLE_LENGTH = 1 << 28;
+
+    private static final long MAGIC = 0x4543484D41503031L;
+    private static final int VERSION = 1;
+
+    private static final int HEADER = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 8;
+    private static final int H_KEY_WIDTH = 12;
+    private static final int H_VALUE_WIDTH = 16;
+    private static final int H_TABLE_LENGTH = 20;
+    private static final int H_ALLOCATED = 24;
+    private static final int H_SIZE = 28;
+    private static final int H_FREE_LIST = 32;
+    private static final int H_CLEAN = 36;
+
+    private static final int NEXT = 0;
+    private static final int HASH = 4;
+    private static final int STATE = 8;
+    private static final int KEY = 12;
+
+    private static final int FREE = 0;
+    private static final int LIVE = 1;
+
+    // largest mapping of records, kept well below the 2GB buffer limit
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int entrySize;
+    private final int chunkShift;
+    private final int chunkMask;
+
+    private MappedByteBuffer header;
+    private MappedByteBuffer[] chunks;
+    private MappedByteBuffer table;
+    private int tableLength;
+    private final boolean recovered;
+    private boolean closed;
+
+    /**
+     * Opens the map stored in path, or creates an empty one if the file does
+     * not exist or is empty. No other process may have the file open.
+     *
+     * @param path       the file
+     * @param keyWidth   the length of every key in bytes
+     * @param valueWidth the length of every value in bytes
+     * @throws java.io.IOException                if the file cannot be read
+     *                                            or written, or is not a map
+     * @throws java.lang.IllegalArgumentException if path is null, keyWidth
+     *                                            is not positive, valueWidth
+     *                                            is negative, or the file
+     *                                            holds records of other
+     *                                            widths
+     * @throws java.lang.IllegalStateException    if another process, or
+     *                                            another open instance in
+     *                                            this one, has the file open
+     */
+    public MappedExternalChainingHashMap(Path path, int keyWidth, int valueWidth) throws IOException {
+        if (path == null) {
+            throw new IllegalArgumentException("The path you entered is null. Please enter an existing path");
+        }
+        if (keyWidth <= 0 || valueWidth < 0) {
+            throw new IllegalArgumentException("The key width is not positive or the value width is negative."
+                    + " Please enter a key width of at least 1 and a value width of at least 0.");
+        }
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.entrySize = KEY + keyWidth + valueWidth;
+        int chunkEntries = Integer.highestOneBit(MAX_CHUNK_BYTES / entrySize);
+        chunkShift = Integer.numberOfTrailingZeros(chunkEntries);
+        chunkMask = chunkEntries - 1;
+        file = FileLocks.claim(path);
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+        } catch (IOException | RuntimeException e) {
+            FileLocks.release(file);
+            throw e;
+        }
+        try {
+            try {
+                lock = channel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                throw new IllegalStateException("The file is already open in this process.");
+            }
+            if (lock == null) {
+                throw new IllegalStateException("The file is open in another process.");
+            }
+            boolean created = channel.size() == 0;
+            if (created) {
+                map(INITIAL_CAPACITY);
+                header.putLong(H_MAGIC, MAGIC);
+                header.putInt(H_VERSION, VERSION);
+                header.putInt(H_KEY_WIDTH, keyWidth);
+                header.putInt(H_VALUE_WIDTH, valueWidth);
+                header.putInt(H_TABLE_LENGTH, tableLength);
+                recovered = false;
+            } else {
+                readHeader(path);
+                map(tableLength);
+                recovered = header.getInt(H_CLEAN) == 0;
+                if (recovered) {
+                    rebuild();
+                }
+            }
+            header.putInt(H_CLEAN, 0);
+        } catch (IOException | RuntimeException e) {
+            unmap();
+            channel.close();
+            FileLocks.release(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * @param key   the key to add, keyWidth bytes long
+     * @param value the value to add, valueWidth bytes long
+     * @return true if the key was not already in the map, false if its value
+     * was replaced
+     * @throws java.lang.IllegalArgumentException if key or value is null or
+     *                                            of the wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed or
+     *                                            holds the maximum number of
+     *                                            entries
+     * @throws java.io.UncheckedIOException       if the file cannot grow
+     */
+    public boolean put(byte[] key, byte[] value) {
+        checkKey(key);
+        if (value == null || value.length != valueWidth) {
+            throw new IllegalArgumentException("The value you entered is null or not " + valueWidth
+                    + " bytes long. Please add existing data of the right length");
+        }
+        int hash = Hashing.hash(key);
+        int found = find(key, hash);
+        if (found != 0) {
+            DirectBuffers.write(buffer(found), offset(found) + KEY + keyWidth, value);
+            return false;
+        }
+        int ref = allocateEntry();
+        ByteBuffer chunk = buffer(ref);
+        int offset = offset(ref);
+        int index = hash & (tableLength - 1);
+        chunk.putInt(offset + NEXT, table.getInt(index * 4));
+        chunk.putInt(offset + HASH, hash);
+        DirectBuffers.write(chunk, offset + KEY, key);
+        DirectBuffers.write(chunk, offset + KEY + keyWidth, value);
+        // from here on the record is in the map, even if the table is lost
+        chunk.putInt(offset + STATE, LIVE);
+        table.putInt(index * 4, ref);
+        header.putInt(H_SIZE, header.getInt(H_SIZE) + 1);
+        return true;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return a copy of the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = new byte[valueWidth];
+        get(key, value);
+        return value;
+    }
+
+    /**
+     * Copies the value associated with the given key into dest, without
+     * allocating anything.
+     *
+     * @param key  the key to search for in the map
+     * @param dest the array to copy the value into, valueWidth bytes long
+     * @throws java.lang.IllegalArgumentException if key or dest is null or
+     *                                            of the wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void get(byte[] key, byte[] dest) {
+        checkKey(key);
+        if (dest == null || dest.length != valueWidth) {
+            throw new IllegalArgumentException("The destination you entered is null or not " + valueWidth
+                    + " bytes long. Please enter an array of the right length");
+        }
+        int found = find(key, Hashing.hash(key));
+        if (found == 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        DirectBuffers.read(buffer(found), offset(found) + KEY + keyWidth, dest);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map and puts its
+     * record on the free list.
+     *
+     * @param key the key to remove
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void remove(byte[] key) {
+        checkKey(key);
+        int hash = Hashing.hash(key);
+        int index = hash & (tableLength - 1);
+        int prev = 0;
+        int curr = table.getInt(index * 4);
+        while (curr != 0 && !matches(curr, key, hash)) {
+            prev = curr;
+            curr = next(curr);
+        }
+        if (curr == 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        // from here on the record is out of the map, even if the table is lost
+        buffer(curr).putInt(offset(curr) + STATE, FREE);
+        if (prev == 0) {
+            table.putInt(index * 4, next(curr));
+        } else {
+            buffer(prev).putInt(offset(prev) + NEXT, next(curr));
+        }
+        buffer(curr).putInt(offset(curr) + NEXT, header.getInt(H_FREE_LIST));
+        header.putInt(H_FREE_LIST, curr);
+        header.putInt(H_SIZE, header.getInt(H_SIZE) - 1);
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public boolean containsKey(byte[] key) {
+        checkKey(key);
+        return find(key, Hashing.hash(key)) != 0;
+    }
+
+    /**
+     * Forces every change made so far to the disk.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    public void flush() {
+        checkOpen();
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        table.force();
+        header.force();
+    }
+
+    /**
+     * Marks the file as cleanly closed, forces it to the disk and releases
+     * the mappings and the file. The map cannot be used afterwards. Closing
+     * twice does nothing.
+     *
+     * @throws java.io.IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        header.putInt(H_CLEAN, 1);
+        header.force();
+        closed = true;
+        unmap();
+        try {
+            channel.close();
+        } finally {
+            FileLocks.release(file);
+        }
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return closed ? 0 : header.getInt(H_SIZE);
+    }
+
+    /**
+     * Returns the length of the table.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return tableLength;
+    }
+
+    /**
+     * Returns whether opening the file had to rebuild the table because the
+     * map was not closed cleanly.
+     *
+     * @return true if the table was rebuilt from the records
+     */
+    public boolean wasRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Checks the header of an existing file and reads the table length.
+     *
+     * @param path the file, for the messages
+     * @throws java.io.IOException                if the file is not a map
+     * @throws java.lang.IllegalArgumentException if the file holds records
+     *                                            of other widths
+     */
+    private void readHeader(Path path) throws IOException {
+        if (channel.size() < HEADER) {
+            throw new IOException(path + " is too short to be a map.");
+        }
+        header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+        header.order(ByteOrder.nativeOrder());
+        if (header.getLong(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != VERSION) {
+            throw new IOException(path + " is not a map written by this version.");
+        }
+        if (header.getInt(H_KEY_WIDTH) != keyWidth || header.getInt(H_VALUE_WIDTH) != valueWidth) {
+            throw new IllegalArgumentException("The file holds keys of " + header.getInt(H_KEY_WIDTH)
+                    + " bytes and values of " + header.getInt(H_VALUE_WIDTH) + " bytes. Please open it with"
+                    + " those widths.");
+        }
+        tableLength = header.getInt(H_TABLE_LENGTH);
+        if (Integer.bitCount(tableLength) != 1 || tableLength > MAX_TABLE_LENGTH
+                || channel.size() < fileLength(tableLength)) {
+            throw new IOException(path + " is truncated or its header is damaged.");
+        }
+        DirectBuffers.free(header);
+        header = null;
+    }
+
+    /**
+     * Maps the header, the records and the table of a file whose table has
+     * the given length, growing the file if it is shorter. The old mappings
+     * are released only once every new one is in place, so if mapping fails
+     * the map is left as it was.
+     *
+     * @param length the length of the table
+     * @throws java.io.IOException if the file cannot be grown or mapped
+     */
+    private void map(int length) throws IOException {
+        long fileLength = fileLength(length);
+        if (channel.size() < fileLength) {
+            // writing the last byte extends the file without writing the rest
+            channel.write(ByteBuffer.allocate(1), fileLength - 1);
+        }
+        long records = entryCapacity(length);
+        int count = (int) ((records + chunkMask) >>> chunkShift);
+        MappedByteBuffer newHeader = null;
+        MappedByteBuffer[] newChunks = new MappedByteBuffer[count];
+        MappedByteBuffer newTable = null;
+        try {
+            newHeader = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER);
+            newHeader.order(ByteOrder.nativeOrder());
+            for (int i = 0; i < count; i++) {
+                long first = (long) i << chunkShift;
+                long entries = Math.min(chunkMask + 1, records - first);
+                newChunks[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER + first * entrySize,
+                        entries * entrySize);
+                newChunks[i].order(ByteOrder.nativeOrder());
+            }
+            newTable = channel.map(FileChannel.MapMode.READ_WRITE, tableOffset(length), (long) length * 4);
+            newTable.order(ByteOrder.nativeOrder());
+        } catch (IOException | RuntimeException e) {
+            if (newHeader != null) {
+                DirectBuffers.free(newHeader);
+            }
+            for (MappedByteBuffer chunk : newChunks) {
+                if (chunk != null) {
+                    DirectBuffers.free(chunk);
+                }
+            }
+            throw e;
+        }
+        unmap();
+        header = newHeader;
+        chunks = newChunks;
+        table = newTable;
+        tableLength = length;
+    }
+
+    /**
+     * Releases every mapping.
+     */
+    private void unmap() {
+        if (header != null) {
+            DirectBuffers.free(header);
+            header = null;
+        }
+        if (chunks != null) {
+            for (MappedByteBuffer chunk : chunks) {
+                DirectBuffers.free(chunk);
+            }
+            chunks = null;
+        }
+        if (table != null) {
+            DirectBuffers.free(table);
+            table = null;
+        }
+    }
+
+    /**
+     * Doubles the table and the room for records, then rebuilds the table.
+     * If the file cannot grow, the map keeps its old mappings and stays
+     * usable. Until close() the header marks the file as not closed cleanly, so a
+     * crash part way through is repaired when the file is opened again.
+     *
+     * @throws java.lang.IllegalStateException if the table is already at its
+     *                                         maximum length
+     * @throws java.io.UncheckedIOException    if the file cannot grow
+     */
+    private void grow() {
+        if (tableLength >= MAX_TABLE_LENGTH) {
+            throw new IllegalStateException("The map holds the maximum number of entries.");
+        }
+        try {
+            map(tableLength * 2);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        header.putInt(H_TABLE_LENGTH, tableLength);
+        rebuild();
+    }
+
+    /**
+     * Relinks every live record into a cleared table and every free record
+     * onto the free list, and recounts the size.
+     */
+    private void rebuild() {
+        for (int i = 0; i < tableLength; i++) {
+            table.putInt(i * 4, 0);
+        }
+        int allocated = header.getInt(H_ALLOCATED);
+        int freeList = 0;
+        int size = 0;
+        for (int ref = allocated; ref > 0; ref--) {
+            ByteBuffer chunk = buffer(ref);
+            int offset = offset(ref);
+            if (chunk.getInt(offset + STATE) == LIVE) {
+                int index = chunk.getInt(offset + HASH) & (tableLength - 1);
+                chunk.putInt(offset + NEXT, table.getInt(index * 4));
+                table.putInt(index * 4, ref);
+                size++;
+            } else {
+                chunk.putInt(offset + NEXT, freeList);
+                freeList = ref;
+            }
+        }
+        header.putInt(H_FREE_LIST, freeList);
+        header.putInt(H_SIZE, size);
+    }
+
+    /**
+     * Finds the entry for key.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of key
+     * @return the entry's reference, or 0 if the key is not in the map
+     */
+    private int find(byte[] key, int hash) {
+        int curr = table.getInt((hash & (tableLength - 1)) * 4);
+        while (curr != 0 && !matches(curr, key, hash)) {
+            curr = next(curr);
+        }
+        return curr;
+    }
+
+    /**
+     * Returns whether the entry holds key.
+     *
+     * @param ref  the entry
+     * @param key  the key
+     * @param hash the hash of key
+     * @return true if the entry's hash and key bytes equal hash and key
+     */
+    private boolean matches(int ref, byte[] key, int hash) {
+        ByteBuffer chunk = buffer(ref);
+        int offset = offset(ref);
+        if (chunk.getInt(offset + HASH) != hash) {
+            return false;
+        }
+        return DirectBuffers.bytesEqual(chunk, offset + KEY, key);
+    }
+
+    /**
+     * Takes a record off the free list, or the next unused one, growing the
+     * file when every record is used. The record is marked free before it
+     * is counted, so a crash before it is filled in cannot add it to the
+     * map.
+     *
+     * @return the new entry's reference
+     */
+    private int allocateEntry() {
+        int ref = header.getInt(H_FREE_LIST);
+        if (ref != 0) {
+            header.putInt(H_FREE_LIST, next(ref));
+            return ref;
+        }
+        int allocated = header.getInt(H_ALLOCATED);
+        if (allocated == entryCapacity(tableLength)) {
+            grow();
+        }
+        ref = allocated + 1;
+        buffer(ref).putInt(offset(ref) + STATE, FREE);
+        header.putInt(H_ALLOCATED, ref);
+        return ref;
+    }
+
+    /**
+     * Returns the mapping holding an entry.
+     *
+     * @param ref the entry
+     * @return the entry's mapping
+     */
+    private ByteBuffer buffer(int ref) {
+        return chunks[(ref - 1) >>> chunkShift];
+    }
+
+    /**
+     * Returns the byte offset of an entry within its mapping.
+     *
+     * @param ref the entry
+     * @return the entry's offset
+     */
+    private int offset(int ref) {
+        return ((ref - 1) & chunkMask) * entrySize;
+    }
+
+    /**
+     * Returns the next entry in an entry's chain or the free list.
+     *
+     * @param ref the entry
+     * @return the next entry, or 0
+     */
+    private int next(int ref) {
+        return buffer(ref).getInt(offset(ref) + NEXT);
+    }
+
+    /**
+     * Returns the number of records a file with a table of the given length
+     * has room for.
+     *
+     * @param length the table length
+     * @return the record capacity
+     */
+    private static int entryCapacity(int length) {
+        return (int) (length * MAX_LOAD_FACTOR);
+    }
+
+    /**
+     * Returns where the table of the given length starts, after the records.
+     *
+     * @param length the table length
+     * @return the table's offset in the file
+     */
+    private long tableOffset(int length) {
+        long end = HEADER + (long) entryCapacity(length) * entrySize;
+        return (end + 7) & ~7L;
+    }
+
+    /**
+     * Returns the length of a file with a table of the given length.
+     *
+     * @param length the table length
+     * @return the file length in bytes
+     */
+    private long fileLength(int length) {
+        return tableOffset(length) + (long) length * 4;
+    }
+
+    /**
+     * Checks that the map is open and key is usable.
+     *
+     * @param key the key
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    private void checkKey(byte[] key) {
+        checkOpen();
+        if (key == null || key.length != keyWidth) {
+            throw new IllegalArgumentException("The key you entered is null or not " + keyWidth
+                    + " bytes long. Please enter existing data of the right length");
+        }
+    }
+
+    /**
+     * Checks that the map is open.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The map is closed.");
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package datastructures.hashmap;
+
+import datastructures.util.DirectBuffers;
+import datastructures.util.Hashing;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of an ExternalChainingHashMap whose buckets and entries
+ * live outside of the Java heap, for keys and values of a fixed number of
+ * bytes.
+ *
+ * The table is a direct buffer of int references and the entries are
+ * fixed size records in an arena of direct buffer chunks:
+ *
+ * <pre>
+ *     | next (int) | hash (int) | key (keyWidth bytes) | value (valueWidth bytes) |
+ * </pre>
+ *
+ * A reference is the entry's position in the arena plus one, so 0 means
+ * null. Removed entries go on a free list threaded through their next field
+ * and are reused before the arena grows. Resizing only relinks the chains
+ * into a new table, entries never move.
+ *
+ * The arena grows geometrically: after the first chunk every chunk is as
+ * large as all the ones before it, up to the maximum chunk size. A map of
+ * hundreds of millions of entries therefore needs only a few dozen
+ * buffers, while a small map still starts with a small chunk.
+ *
+ * Nothing is allocated on the heap per entry, so the garbage collector
+ * never has to trace the map's contents. The memory is released as soon as
+ * close() is called rather than whenever the buffers are collected.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class OffHeapExternalChainingHashMap implements AutoCloseable {
+
+    /*
+     * The initial capacity of the OffHeapExternalChainingHashMap when
+     * created without one.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the OffHeapExternalChainingHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /*
+     * The longest table, whose 4 byte references still fit one buffer.
+     * Past this the table stops growing and chains get longer.
+     */
+    public static final int MAX_TABLE_LENGTH = 1 << 28;
+
+    private static final int NEXT = 0;
+    private static final int HASH = 4;
+    private static final int KEY = 8;
+
+    // largest chunk of the arena, kept well below the 2GB buffer limit
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+    private static final int MIN_CHUNK_ENTRIES = 1 << 10;
+
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int entrySize;
+    // log2 of the entries of the first and of the largest chunks
+    private final int firstChunkShift;
+    private final int maxChunkShift;
+
+    private ByteBuffer table;
+    private int tableLength;
+    private ByteBuffer[] chunks = new ByteBuffer[0];
+    private int chunkCount;
+    private int allocated;
+    private int freeList;
+    private int size;
+    private boolean closed;
+
+    /**
+     * Constructs a new OffHeapExternalChainingHashMap.
+     *
+     * @param keyWidth   the length of every key in bytes
+     * @param valueWidth the length of every value in bytes
+     * @throws java.lang.IllegalArgumentException if keyWidth is not positive
+     *                                            or valueWidth is negative
+     */
+    public OffHeapExternalChainingHashMap(int keyWidth, int valueWidth) {
+        this(keyWidth, valueWidth, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new OffHeapExternalChainingHashMap.
+     *
+     * @param keyWidth        the length of every key in bytes
+     * @param valueWidth      the length of every value in bytes
+     * @param initialCapacity the initial length of the table, rounded up to
+     *                        a power of two
+     * @throws java.lang.IllegalArgumentException if keyWidth is not positive,
+     *                                            or valueWidth or
+     *                                            initialCapacity is negative
+     */
+    public OffHeapExternalChainingHashMap(int keyWidth, int valueWidth, int initialCapacity) {
+        if (keyWidth <= 0 || valueWidth < 0 || initialCapacity < 0) {
+            throw new IllegalArgumentException("The key width is not positive or the value width or initial capacity"
+                    + " is negative. Please enter a key width of at least 1 and sizes of at least 0.");
+        }
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.entrySize = KEY + keyWidth + valueWidth;
+        int maxChunkEntries = Integer.highestOneBit(MAX_CHUNK_BYTES / entrySize);
+        int chunkEntries = Math.min(maxChunkEntries,
+                Math.max(MIN_CHUNK_ENTRIES, Hashing.powerOfTwoAtLeast(Math.min(initialCapacity, 1 << 30))));
+        firstChunkShift = Integer.numberOfTrailingZeros(chunkEntries);
+        maxChunkShift = Integer.numberOfTrailingZeros(maxChunkEntries);
+        tableLength = Math.min(MAX_TABLE_LENGTH, Hashing.powerOfTwoAtLeast(Math.min(initialCapacity, 1 << 30)));
+        table = DirectBuffers.allocate(tableLength * 4);
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * @param key   the key to add, keyWidth bytes long
+     * @param value the value to add, valueWidth bytes long
+     * @return true if the key was not already in the map, false if its value
+     * was replaced
+     * @throws java.lang.IllegalArgumentException if key or value is null or
+     *                                            of the wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public boolean put(byte[] key, byte[] value) {
+        checkKey(key);
+        if (value == null || value.length != valueWidth) {
+            throw new IllegalArgumentException("The value you entered is null or not " + valueWidth
+                    + " bytes long. Please add existing data of the right length");
+        }
+        int hash = Hashing.hash(key);
+        int found = find(key, hash);
+        if (found != 0) {
+            DirectBuffers.write(buffer(found), offset(found) + KEY + keyWidth, value);
+            return false;
+        }
+        if (size + 1 > MAX_LOAD_FACTOR * tableLength && tableLength < MAX_TABLE_LENGTH) {
+            resizeBackingTable(tableLength * 2);
+        }
+        int ref = allocateEntry();
+        ByteBuffer chunk = buffer(ref);
+        int offset = offset(ref);
+        int index = hash & (tableLength - 1);
+        chunk.putInt(offset + NEXT, table.getInt(index * 4));
+        chunk.putInt(offset + HASH, hash);
+        DirectBuffers.write(chunk, offset + KEY, key);
+        DirectBuffers.write(chunk, offset + KEY + keyWidth, value);
+        table.putInt(index * 4, ref);
+        size++;
+        return true;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return a copy of the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public byte[] get(byte[] key) {
+        byte[] value = new byte[valueWidth];
+        get(key, value);
+        return value;
+    }
+
+    /**
+     * Copies the value associated with the given key into dest, without
+     * allocating anything.
+     *
+     * @param key  the key to search for in the map
+     * @param dest the array to copy the value into, valueWidth bytes long
+     * @throws java.lang.IllegalArgumentException if key or dest is null or
+     *                                            of the wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void get(byte[] key, byte[] dest) {
+        checkKey(key);
+        if (dest == null || dest.length != valueWidth) {
+            throw new IllegalArgumentException("The destination you entered is null or not " + valueWidth
+                    + " bytes long. Please enter an array of the right length");
+        }
+        int found = find(key, Hashing.hash(key));
+        if (found == 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        DirectBuffers.read(buffer(found), offset(found) + KEY + keyWidth, dest);
+    }
+
+    /**
+     * Removes the entry with a matching key from the map and puts its
+     * record on the free list.
+     *
+     * @param key the key to remove
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void remove(byte[] key) {
+        checkKey(key);
+        int hash = Hashing.hash(key);
+        int index = hash & (tableLength - 1);
+        int prev = 0;
+        int curr = table.getInt(index * 4);
+        while (curr != 0 && !matches(curr, key, hash)) {
+            prev = curr;
+            curr = next(curr);
+        }
+        if (curr == 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        if (prev == 0) {
+            table.putInt(index * 4, next(curr));
+        } else {
+            buffer(prev).putInt(offset(prev) + NEXT, next(curr));
+        }
+        buffer(curr).putInt(offset(curr) + NEXT, freeList);
+        freeList = curr;
+        size--;
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public boolean containsKey(byte[] key) {
+        checkKey(key);
+        return find(key, Hashing.hash(key)) != 0;
+    }
+
+    /**
+     * Resizes the table to length, rounded up to a power of two. Entries stay
+     * where they are in the arena and are only relinked.
+     *
+     * @param length new length of the table
+     * @throws java.lang.IllegalArgumentException if length is negative or
+     *                                            more than MAX_TABLE_LENGTH
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    public void resizeBackingTable(int length) {
+        checkOpen();
+        if (length < 0 || length > MAX_TABLE_LENGTH) {
+            throw new IllegalArgumentException("The entered length is negative or more than " + MAX_TABLE_LENGTH
+                    + ". Please enter a length within those bounds.");
+        }
+        int newLength = Hashing.powerOfTwoAtLeast(length);
+        ByteBuffer newTable = DirectBuffers.allocate(newLength * 4);
+        for (int i = 0; i < tableLength; i++) {
+            int curr = table.getInt(i * 4);
+            while (curr != 0) {
+                int next = next(curr);
+                int index = buffer(curr).getInt(offset(curr) + HASH) & (newLength - 1);
+                buffer(curr).putInt(offset(curr) + NEXT, newTable.getInt(index * 4));
+                newTable.putInt(index * 4, curr);
+                curr = next;
+            }
+        }
+        DirectBuffers.free(table);
+        table = newTable;
+        tableLength = newLength;
+    }
+
+    /**
+     * Removes every entry. The arena keeps its chunks for reuse.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    public void clear() {
+        checkOpen();
+        for (int i = 0; i < tableLength; i++) {
+            table.putInt(i * 4, 0);
+        }
+        allocated = 0;
+        freeList = 0;
+        size = 0;
+    }
+
+    /**
+     * Releases the table and every chunk of the arena. The map cannot be
+     * used afterwards. Closing twice does nothing.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        DirectBuffers.free(table);
+        table = null;
+        for (int i = 0; i < chunkCount; i++) {
+            DirectBuffers.free(chunks[i]);
+        }
+        chunks = new ByteBuffer[0];
+        chunkCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the length of the table.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return tableLength;
+    }
+
+    /**
+     * Returns the number of off-heap bytes held by the table and the arena.
+     *
+     * @return the reserved off-heap memory in bytes
+     */
+    public long offHeapBytes() {
+        long bytes = closed ? 0 : (long) tableLength * 4;
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i].capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the entry for key.
+     *
+     * @param key  the key to search for
+     * @param hash the hash of key
+     * @return the entry's reference, or 0 if the key is not in the map
+     */
+    private int find(byte[] key, int hash) {
+        int curr = table.getInt((hash & (tableLength - 1)) * 4);
+        while (curr != 0 && !matches(curr, key, hash)) {
+            curr = next(curr);
+        }
+        return curr;
+    }
+
+    /**
+     * Returns whether the entry holds key.
+     *
+     * @param ref  the entry
+     * @param key  the key
+     * @param hash the hash of key
+     * @return true if the entry's hash and key bytes equal hash and key
+     */
+    private boolean matches(int ref, byte[] key, int hash) {
+        ByteBuffer chunk = buffer(ref);
+        int offset = offset(ref);
+        if (chunk.getInt(offset + HASH) != hash) {
+            return false;
+        }
+        return DirectBuffers.bytesEqual(chunk, offset + KEY, key);
+    }
+
+    /**
+     * Takes a record off the free list, or the next unused one of the arena,
+     * adding a chunk when the arena is full.
+     *
+     * @return the new entry's reference
+     * @throws java.lang.IllegalStateException if the arena holds the maximum
+     *                                         number of entries
+     */
+    private int allocateEntry() {
+        if (freeList != 0) {
+            int ref = freeList;
+            freeList = next(ref);
+            return ref;
+        }
+        if (allocated == Integer.MAX_VALUE - 1) {
+            throw new IllegalStateException("The map holds the maximum number of entries.");
+        }
+        if (chunkIndex(allocated) == chunkCount) {
+            if (chunkCount == chunks.length) {
+                chunks = Arrays.copyOf(chunks, Math.max(4, chunkCount * 2));
+            }
+            // chunk k > 0 holds as many entries as chunks 0 to k - 1 together
+            int shift = Math.min(maxChunkShift, firstChunkShift + Math.max(0, chunkCount - 1));
+            chunks[chunkCount++] = DirectBuffers.allocate((1 << shift) * entrySize);
+        }
+        allocated++;
+        return allocated;
+    }
+
+    /**
+     * Returns the chunk holding an entry.
+     *
+     * @param ref the entry
+     * @return the entry's chunk
+     */
+    private ByteBuffer buffer(int ref) {
+        return chunks[chunkIndex(ref - 1)];
+    }
+
+    /**
+     * Returns the chunk holding the entry at a position of the arena.
+     *
+     * @param position the entry's reference minus 1
+     * @return the index of the entry's chunk
+     */
+    private int chunkIndex(int position) {
+        if (position >>> maxChunkShift != 0) {
+            // past the geometric chunks every chunk has the maximum size
+            return (position >>> maxChunkShift) + maxChunkShift - firstChunkShift;
+        }
+        return 32 - Integer.numberOfLeadingZeros(position >>> firstChunkShift);
+    }
+
+    /**
+     * Returns the byte offset of an entry within its chunk.
+     *
+     * @param ref the entry
+     * @return the entry's offset
+     */
+    private int offset(int ref) {
+        int position = ref - 1;
+        // every chunk starts at a multiple of its own size
+        int chunkEntries = position >>> maxChunkShift != 0 ? 1 << maxChunkShift
+                : Math.max(1 << firstChunkShift, Integer.highestOneBit(position));
+        return (position & (chunkEntries - 1)) * entrySize;
+    }
+
+    /**
+     * Returns the next entry in an entry's chain or the free list.
+     *
+     * @param ref the entry
+     * @return the next entry, or 0
+     */
+    private int next(int ref) {
+        return buffer(ref).getInt(offset(ref) + NEXT);
+    }
+
+    /**
+     * Checks that the map is open and key is usable.
+     *
+     * @param key the key
+     * @throws java.lang.IllegalArgumentException if key is null or of the
+     *                                            wrong length
+     * @throws java.lang.IllegalStateException    if the map is closed
+     */
+    private void checkKey(byte[] key) {
+        checkOpen();
+        if (key == null || key.length != keyWidth) {
+            throw new IllegalArgumentException("The key you entered is null or not " + keyWidth
+                    + " bytes long. Please enter existing data of the right length");
+        }
+    }
+
+    /**
+     * Checks that the map is open.
+     *
+     * @throws java.lang.IllegalStateException if the map is closed
+     */
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("The map is closed.");
+        }
+    }
+}
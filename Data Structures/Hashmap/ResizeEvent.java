@@ -0,0 +1,35 @@
+package datastructures.hashmap;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a resize of an ExternalChainingHashMap with
+ * statistics enabled. Its duration covers the part of the resize done in
+ * one go: all of it, or only replacing the table in incremental resize
+ * mode.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@Name("datastructures.hashmap.Resize")
+@Label("Hash Map Resize")
+@Category("Data Structures")
+@Description("An ExternalChainingHashMap replaced its table")
+final class ResizeEvent extends Event {
+
+    @Label("Old Table Length")
+    int oldLength;
+
+    @Label("New Table Length")
+    int newLength;
+
+    @Label("Size")
+    int size;
+
+    @Label("Incremental")
+    boolean incremental;
+}
@@ -0,0 +1,354 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * My implementation of an open addressing HashMap using Robin Hood hashing.
+ *
+ * Keys and values sit in two parallel arrays with no per entry objects. A
+ * third array caches each slot's mixed hash with the top bit set, so 0 marks
+ * an empty slot. The cached hash gives both the slot's distance from its home
+ * slot and a cheap filter that avoids calling equals on keys that cannot
+ * match.
+ *
+ * On insert, an entry that has probed further than the entry in its way
+ * takes that slot and the displaced entry keeps probing, which keeps every
+ * probe sequence short and lets a search stop as soon as it reaches an entry
+ * closer to home than itself. Removal shifts the following run of entries
+ * back by one instead of leaving tombstones.
+ *
+ * The table length is always a power of two so the index is a mask of the
+ * hash.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class RobinHoodHashMap<K, V> {
+
+    /*
+     * The initial capacity of the RobinHoodHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the RobinHoodHashMap.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.75;
+
+    /*
+     * Set on every cached hash so that 0 can mean empty. Never part of the
+     * mask since the table length is at most 2^30.
+     */
+    private static final int OCCUPIED = 0x80000000;
+
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int size;
+
+    /**
+     * Constructs a new RobinHoodHashMap.
+     */
+    public RobinHoodHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new RobinHoodHashMap.
+     *
+     * @param initialCapacity the initial capacity of the backing arrays,
+     *                        rounded up to a power of two
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public RobinHoodHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity is negative."
+                    + " Please enter a capacity of at least 0.");
+        }
+        allocate(Hashing.powerOfTwoAtLeast(initialCapacity));
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * In the case of a collision, Robin Hood linear probing is the resolution
+     * strategy.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        if (size + 1 > MAX_LOAD_FACTOR * keys.length) {
+            resizeBackingTable(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int hash = Hashing.spread(key.hashCode()) | OCCUPIED;
+        int index = hash & mask;
+        int distance = 0;
+        while (hashes[index] != 0 && distance(index, hashes[index], mask) >= distance) {
+            if (hashes[index] == hash && keys[index].equals(key)) {
+                V oldValue = values[index];
+                values[index] = value;
+                return oldValue;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        insertAt(index, hash, key, value);
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        V oldValue = values[index];
+        int mask = keys.length - 1;
+        int next = (index + 1) & mask;
+        // backward shift the run that follows, no tombstones
+        while (hashes[next] != 0 && distance(next, hashes[next], mask) > 0) {
+            keys[index] = keys[next];
+            values[index] = values[next];
+            hashes[index] = hashes[next];
+            index = next;
+            next = (next + 1) & mask;
+        }
+        keys[index] = null;
+        values[index] = null;
+        hashes[index] = 0;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        int index = indexOf(key);
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns a Set view of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        HashSet<K> theSet = new HashSet<K>();
+        for (int i = 0; i < keys.length; i++) {
+            if (hashes[i] != 0) {
+                theSet.add(keys[i]);
+            }
+        }
+        return theSet;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> theList = new ArrayList<V>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (hashes[i] != 0) {
+                theList.add(values[i]);
+            }
+        }
+        return theList;
+    }
+
+    /**
+     * Resizes the backing arrays to length, rounded up to a power of two.
+     *
+     * @param length new length of the backing arrays
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
+                    + " Please enter a length larger than the size.");
+        }
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(Hashing.powerOfTwoAtLeast(length));
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHashes[i] != 0) {
+                // keys are distinct and hashes cached, so no hashCode or equals calls
+                int index = oldHashes[i] & mask;
+                int distance = 0;
+                while (hashes[index] != 0 && distance(index, hashes[index], mask) >= distance) {
+                    index = (index + 1) & mask;
+                    distance++;
+                }
+                insertAt(index, oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Returns the capacity of the backing arrays.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding key.
+     *
+     * @param key the key to search for, not null
+     * @return the slot index, or -1 if the key is not in the map
+     */
+    private int indexOf(K key) {
+        int mask = keys.length - 1;
+        int hash = Hashing.spread(key.hashCode()) | OCCUPIED;
+        int index = hash & mask;
+        int distance = 0;
+        // an entry closer to its home slot than we are means key is absent
+        while (hashes[index] != 0 && distance(index, hashes[index], mask) >= distance) {
+            if (hashes[index] == hash && keys[index].equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        return -1;
+    }
+
+    /**
+     * Places the entry at index, where the slot is either empty or holds an
+     * entry closer to home than the new one. Displaced entries keep probing
+     * forward, taking the next slot they are further from home than.
+     *
+     * @param index the slot to place the entry in
+     * @param hash  the entry's cached hash
+     * @param key   the key to place
+     * @param value the value to place
+     */
+    private void insertAt(int index, int hash, K key, V value) {
+        int mask = keys.length - 1;
+        int distance = distance(index, hash, mask);
+        while (hashes[index] != 0) {
+            int residentDistance = distance(index, hashes[index], mask);
+            if (residentDistance < distance) {
+                K displacedKey = keys[index];
+                V displacedValue = values[index];
+                int displacedHash = hashes[index];
+                keys[index] = key;
+                values[index] = value;
+                hashes[index] = hash;
+                key = displacedKey;
+                value = displacedValue;
+                hash = displacedHash;
+                distance = residentDistance;
+            }
+            index = (index + 1) & mask;
+            distance++;
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+    }
+
+    /**
+     * Returns how far the slot is from the home slot of the hash cached in it.
+     *
+     * @param index the slot
+     * @param hash  the hash cached in the slot
+     * @param mask  the table length minus one
+     * @return the probe distance of the slot's entry
+     */
+    private static int distance(int index, int hash, int mask) {
+        return (index - hash) & mask;
+    }
+
+    /**
+     * Allocates empty backing arrays of the given length.
+     *
+     * @param length the length of the backing arrays, a power of two
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int length) {
+        keys = (K[]) new Object[length];
+        values = (V[]) new Object[length];
+        hashes = new int[length];
+    }
+}
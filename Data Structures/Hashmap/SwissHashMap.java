@@ -0,0 +1,402 @@
+package datastructures.hashmap;
+
+import datastructures.util.Hashing;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * My implementation of an open addressing HashMap in the style of a Swiss
+ * table.
+ *
+ * Next to the key and value arrays there is one control byte per slot.
+ * The control byte of a full slot holds the low 7 bits of its key's mixed
+ * hash, and empty and deleted slots have the high bit set. The slots are
+ * probed in aligned groups of eight: the eight control bytes of a group
+ * are read as one long and compared with the 7 bit tag of the key all at
+ * once, so only the slots whose tag matches have their key compared. A
+ * lookup for a missing key therefore usually reads no keys at all, just
+ * the control bytes, and stops at the first group with an empty slot.
+ *
+ * Removing a key from a group without an empty slot leaves a deleted
+ * marker, since a probe sequence may pass through that group. Inserts
+ * reuse deleted slots, and a table whose full and deleted slots go over
+ * the load factor is rebuilt, doubling only if the keys themselves need
+ * the room.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class SwissHashMap<K, V> {
+
+    /*
+     * The initial capacity of the SwissHashMap when created with the
+     * default constructor.
+     */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /*
+     * The max load factor of the SwissHashMap, counting deleted slots.
+     */
+    public static final double MAX_LOAD_FACTOR = 0.875;
+
+    /*
+     * The number of slots whose control bytes are matched at once.
+     */
+    public static final int GROUP_WIDTH = 8;
+
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+
+    // the lowest and highest bit of every byte of a group
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    // control byte i of a group is byte i of the long, whatever the platform
+    private static final VarHandle GROUPS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private byte[] control;
+    private K[] keys;
+    private V[] values;
+    private int groupMask;
+    private int size;
+    private int deleted;
+
+    /**
+     * Constructs a new SwissHashMap.
+     */
+    public SwissHashMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a new SwissHashMap.
+     *
+     * @param initialCapacity the initial number of slots, rounded up to a
+     *                        power of two of at least 16
+     * @throws java.lang.IllegalArgumentException if initialCapacity is
+     *                                            negative
+     */
+    public SwissHashMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The initial capacity is negative."
+                    + " Please enter a capacity of at least 0.");
+        }
+        allocate(groupsFor(initialCapacity));
+        size = 0;
+    }
+
+    /**
+     * Adds the given key-value pair to the map. If an entry in the map
+     * already has this key, it replaces the entry's value with the new one
+     * passed in.
+     *
+     * In the case of a collision, probing groups of control bytes is the
+     * resolution strategy.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @return null if the key was not already in the map. If it was in the
+     * map, return the old value associated with it
+     * @throws java.lang.IllegalArgumentException if key or value is null
+     */
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("The key or value you entered is null. Please add existing data");
+        }
+        int h = Hashing.spread(key.hashCode());
+        int index = indexOf(key, h);
+        if (index >= 0) {
+            V oldValue = values[index];
+            values[index] = value;
+            return oldValue;
+        }
+        if (size + deleted + 1 > MAX_LOAD_FACTOR * keys.length) {
+            // drop the deleted markers, and only double if the keys alone
+            // fill more than 25/32 of the slots
+            int groups = keys.length / GROUP_WIDTH;
+            rebuild(size * 32L > keys.length * 25L ? groups * 2 : groups);
+        }
+        index = insertSlot(h);
+        if (control[index] == DELETED) {
+            deleted--;
+        }
+        control[index] = (byte) (h & 0x7F);
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry with a matching key from the map.
+     *
+     * @param key the key to remove
+     * @return the value previously associated with the key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V remove(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please attempt to remove existing data");
+        }
+        int index = indexOf(key, Hashing.spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        V oldValue = values[index];
+        // probes stop at a group with an empty slot, so none passed this one
+        long group = (long) GROUPS.get(control, index & -GROUP_WIDTH);
+        if (matchEmpty(group) != 0) {
+            control[index] = EMPTY;
+        } else {
+            control[index] = DELETED;
+            deleted++;
+        }
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Gets the value associated with the given key.
+     *
+     * @param key the key to search for in the map
+     * @return the value associated with the given key
+     * @throws java.lang.IllegalArgumentException if key is null
+     * @throws java.util.NoSuchElementException   if the key is not in the map
+     */
+    public V get(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        int index = indexOf(key, Hashing.spread(key.hashCode()));
+        if (index < 0) {
+            throw new NoSuchElementException("The key you entered is not in the map");
+        }
+        return values[index];
+    }
+
+    /**
+     * Returns whether or not the key is in the map.
+     *
+     * @param key the key to search for in the map
+     * @return true if the key is contained within the map, false
+     * otherwise
+     * @throws java.lang.IllegalArgumentException if key is null
+     */
+    public boolean containsKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException("The key you entered is null. Please search for existing data");
+        }
+        return indexOf(key, Hashing.spread(key.hashCode())) >= 0;
+    }
+
+    /**
+     * Returns a Set view of the keys contained in this map.
+     *
+     * @return the set of keys in this map
+     */
+    public Set<K> keySet() {
+        HashSet<K> theSet = new HashSet<K>();
+        for (int i = 0; i < keys.length; i++) {
+            if (control[i] >= 0) {
+                theSet.add(keys[i]);
+            }
+        }
+        return theSet;
+    }
+
+    /**
+     * Returns a List view of the values contained in this map.
+     *
+     * @return list of values in this map
+     */
+    public List<V> values() {
+        List<V> theList = new ArrayList<V>(size);
+        for (int i = 0; i < keys.length; i++) {
+            if (control[i] >= 0) {
+                theList.add(values[i]);
+            }
+        }
+        return theList;
+    }
+
+    /**
+     * Resizes the backing arrays to length slots, rounded up to a power of
+     * two of at least 16, and reinserts every entry.
+     *
+     * @param length new number of slots
+     * @throws java.lang.IllegalArgumentException if length is less than the
+     *                                            number of items in the hash
+     *                                            map
+     */
+    public void resizeBackingTable(int length) {
+        if (length < size) {
+            throw new IllegalArgumentException("The entered length is less than the number of items in the hashmap."
+                    + " Please enter a length larger than the size.");
+        }
+        int groups = groupsFor(length);
+        if (size > MAX_LOAD_FACTOR * groups * GROUP_WIDTH) {
+            groups *= 2;
+        }
+        rebuild(groups);
+    }
+
+    /**
+     * Clears the map.
+     */
+    public void clear() {
+        allocate(groupsFor(INITIAL_CAPACITY));
+        size = 0;
+    }
+
+    /**
+     * Returns the number of slots of the backing arrays.
+     *
+     * @return the capacity of the map
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the size of the map.
+     *
+     * @return the size of the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the slot holding key. Probes the groups from the key's home
+     * group, comparing keys only in slots whose control byte matches the
+     * key's tag, until a group with an empty slot.
+     *
+     * @param key the key to search for, not null
+     * @param h   the key's mixed hash
+     * @return the slot index, or -1 if the key is not in the map
+     */
+    private int indexOf(K key, int h) {
+        long tags = LSBS * (h & 0x7F);
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_WIDTH;
+            long word = (long) GROUPS.get(control, base);
+            for (long match = matchTag(word, tags); match != 0; match &= match - 1) {
+                int index = base + (Long.numberOfTrailingZeros(match) >>> 3);
+                K curr = keys[index];
+                if (curr == key || curr.equals(key)) {
+                    return index;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            // triangular steps visit every group of a power of two table
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Finds the first empty or deleted slot on the probe sequence of a key.
+     * The load factor guarantees there is one.
+     *
+     * @param h the key's mixed hash
+     * @return the slot index
+     */
+    private int insertSlot(int h) {
+        int group = (h >>> 7) & groupMask;
+        for (int step = 1; ; step++) {
+            int base = group * GROUP_WIDTH;
+            long free = (long) GROUPS.get(control, base) & MSBS;
+            if (free != 0) {
+                return base + (Long.numberOfTrailingZeros(free) >>> 3);
+            }
+            group = (group + step) & groupMask;
+        }
+    }
+
+    /**
+     * Marks the bytes of a group equal to the tag. A byte right above a
+     * matching byte may be marked too, which the key comparison filters out.
+     *
+     * @param word the control bytes of the group
+     * @param tags the tag repeated in every byte
+     * @return the high bit of every matching byte set
+     */
+    private static long matchTag(long word, long tags) {
+        long x = word ^ tags;
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Marks the empty bytes of a group: the high bit set and, unlike a
+     * deleted byte, bit 1 clear. EMPTY (0x80) has bit 1 clear and DELETED
+     * (0xFE) has it set; shifting the inverted word left by 6 moves each
+     * byte's inverted bit 1 up to its high bit.
+     *
+     * @param word the control bytes of the group
+     * @return the high bit of every empty byte set
+     */
+    private static long matchEmpty(long word) {
+        return word & (~word << 6) & MSBS;
+    }
+
+    /**
+     * Reinserts every entry into new backing arrays with the given number
+     * of groups, dropping the deleted markers.
+     *
+     * @param groups the new number of groups, a power of two
+     */
+    private void rebuild(int groups) {
+        byte[] oldControl = control;
+        K[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(groups);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldControl[i] >= 0) {
+                int h = Hashing.spread(oldKeys[i].hashCode());
+                int index = insertSlot(h);
+                control[index] = (byte) (h & 0x7F);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of groups holding at least the given number of
+     * slots.
+     *
+     * @param slots the requested number of slots
+     * @return a power of two number of groups, at least 2
+     */
+    private static int groupsFor(int slots) {
+        return Hashing.powerOfTwoAtLeast((slots + GROUP_WIDTH - 1) / GROUP_WIDTH);
+    }
+
+    /**
+     * Allocates empty backing arrays with the given number of groups.
+     *
+     * @param groups the number of groups, a power of two
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int groups) {
+        control = new byte[groups * GROUP_WIDTH];
+        Arrays.fill(control, EMPTY);
+        keys = (K[]) new Object[groups * GROUP_WIDTH];
+        values = (V[]) new Object[groups * GROUP_WIDTH];
+        groupMask = groups - 1;
+        deleted = 0;
+    }
+}
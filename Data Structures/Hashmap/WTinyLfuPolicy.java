@@ -0,0 +1,150 @@
+package datastructures.hashmap;
+
+/**
+ * Window TinyLFU eviction.
+ *
+ * New entries go into a small LRU window holding 1% of the maximum weight.
+ * Entries pushed out of the window become candidates for the main space,
+ * which is a segmented LRU: a probation segment, and a protected segment
+ * of 80% of the main space for entries that were hit again while on
+ * probation. When the cache is over its maximum weight, the newest entry on
+ * probation competes with the oldest, and whichever a CountMinSketch of
+ * recent accesses has seen less often is evicted. One hit wonders are
+ * therefore dropped without pushing out popular entries, while the window
+ * still gives new entries a chance to prove themselves. The sketch grows
+ * with the number of entries rather than with the maximum weight.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class WTinyLfuPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final CacheEntryList<K, V> window = new CacheEntryList<>();
+    private final CacheEntryList<K, V> probation = new CacheEntryList<>();
+    private final CacheEntryList<K, V> protectedSegment = new CacheEntryList<>();
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final CountMinSketch sketch;
+    private long entries;
+
+    /**
+     * Constructs a new WTinyLfuPolicy.
+     *
+     * @param maximumWeight the maximum weight of the cache
+     */
+    public WTinyLfuPolicy(long maximumWeight) {
+        windowMaximum = Math.max(1, maximumWeight / 100);
+        protectedMaximum = (maximumWeight - windowMaximum) * 8 / 10;
+        sketch = new CountMinSketch(Math.min(maximumWeight, BoundedCache.INITIAL_CAPACITY));
+    }
+
+    @Override
+    public void recordInsert(CacheEntry<K, V> entry) {
+        sketch.ensureCapacity(++entries);
+        sketch.increment(entry.getHash());
+        entry.setQueue(WINDOW);
+        window.addLast(entry);
+        balanceWindow();
+    }
+
+    @Override
+    public void recordHit(CacheEntry<K, V> entry) {
+        sketch.increment(entry.getHash());
+        if (entry.getQueue() == WINDOW) {
+            window.moveToLast(entry);
+        } else if (entry.getQueue() == PROBATION) {
+            probation.remove(entry);
+            entry.setQueue(PROTECTED);
+            protectedSegment.addLast(entry);
+            balanceProtected();
+        } else {
+            protectedSegment.moveToLast(entry);
+        }
+    }
+
+    @Override
+    public void recordMiss(int hash) {
+        sketch.increment(hash);
+    }
+
+    @Override
+    public void recordUpdate(CacheEntry<K, V> entry, int oldWeight) {
+        listOf(entry).reweigh(entry.getWeight() - oldWeight);
+        recordHit(entry);
+        balanceWindow();
+    }
+
+    @Override
+    public void recordRemove(CacheEntry<K, V> entry) {
+        entries--;
+        listOf(entry).remove(entry);
+    }
+
+    @Override
+    public CacheEntry<K, V> victim() {
+        CacheEntry<K, V> victim = probation.first();
+        if (victim == null) {
+            victim = protectedSegment.first();
+            return victim != null ? victim : window.first();
+        }
+        CacheEntry<K, V> candidate = probation.last();
+        if (candidate == victim) {
+            return victim;
+        }
+        // ties go against the candidate, so a scan cannot flush the main space
+        if (sketch.frequency(candidate.getHash()) > sketch.frequency(victim.getHash())) {
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        entries = 0;
+    }
+
+    /**
+     * Moves the oldest window entries onto probation until the window fits.
+     */
+    private void balanceWindow() {
+        while (window.weight() > windowMaximum) {
+            CacheEntry<K, V> candidate = window.first();
+            window.remove(candidate);
+            candidate.setQueue(PROBATION);
+            probation.addLast(candidate);
+        }
+    }
+
+    /**
+     * Demotes the oldest protected entries back onto probation until the
+     * protected segment fits.
+     */
+    private void balanceProtected() {
+        while (protectedSegment.weight() > protectedMaximum) {
+            CacheEntry<K, V> demoted = protectedSegment.first();
+            protectedSegment.remove(demoted);
+            demoted.setQueue(PROBATION);
+            probation.addLast(demoted);
+        }
+    }
+
+    /**
+     * Returns the segment the entry is in.
+     *
+     * @param entry an entry of the cache
+     * @return the entry's segment
+     */
+    private CacheEntryList<K, V> listOf(CacheEntry<K, V> entry) {
+        if (entry.getQueue() == WINDOW) {
+            return window;
+        }
+        return entry.getQueue() == PROBATION ? probation : protectedSegment;
+    }
+}
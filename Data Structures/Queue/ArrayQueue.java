@@ -1,3 +1,5 @@
+package datastructures.queue;
+
 import java.util.NoSuchElementException;
 
 /**
@@ -1,3 +1,5 @@
+package datastructures.queue;
+
 /**
  * Node class used for implementing the linked stack and queue.
  *
@@ -0,0 +1,449 @@
+package datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * My implementation of a lock-free LinkedQueue.
+ *
+ * Any number of threads may enqueue and dequeue at the same time. This is
+ * the Michael-Scott queue: head points at a dummy node whose next node
+ * holds the front element, and tail at the last node or, briefly, the
+ * one before it. Enqueue links a new node after the last one with a
+ * compare and set on its next pointer and then swings tail; dequeue
+ * swings head to the next node, which becomes the new dummy. A thread
+ * that finds tail lagging swings it forward itself, so no thread ever
+ * waits for another.
+ *
+ * Nodes are recycled rather than left to the garbage collector. A
+ * dequeued dummy node is retired to a list kept by the thread that
+ * dequeued it, and only reused once no thread can still be reading it:
+ * before following a node, every thread publishes it in one of the two
+ * hazard pointers of its record, and a node named by any hazard pointer
+ * stays retired. Free nodes go to a pool owned by the thread, and once
+ * that is full to a pool shared by all threads, so nodes freed by
+ * consumers reach producers that only enqueue. In a steady state neither
+ * enqueue nor dequeue allocates.
+ *
+ * Each thread's record also counts its enqueues and dequeues, written
+ * only by that thread, so size adds up the counts of every record
+ * instead of all threads contending on one counter.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class LockFreeLinkedQueue<T> {
+
+    /*
+     * The most free nodes each thread keeps for itself.
+     */
+    private static final int LOCAL_POOL = 1 << 8;
+
+    /*
+     * The most free nodes kept for all threads to share.
+     */
+    private static final int SHARED_POOL = 1 << 12;
+
+    /*
+     * The number of retired nodes a thread gathers before it first checks
+     * them against the hazard pointers.
+     */
+    private static final int RETIRE_THRESHOLD = 1 << 7;
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle RECORDS;
+    private static final VarHandle NEXT;
+    private static final VarHandle DATA;
+    private static final VarHandle HAZARD0;
+    private static final VarHandle HAZARD1;
+    private static final VarHandle ENQUEUED;
+    private static final VarHandle DEQUEUED;
+    private static final VarHandle OWNER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(LockFreeLinkedQueue.class, "head", Node.class);
+            TAIL = lookup.findVarHandle(LockFreeLinkedQueue.class, "tail", Node.class);
+            RECORDS = lookup.findVarHandle(LockFreeLinkedQueue.class, "records", Record.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            DATA = lookup.findVarHandle(Node.class, "data", Object.class);
+            HAZARD0 = lookup.findVarHandle(Record.class, "hazard0", Node.class);
+            HAZARD1 = lookup.findVarHandle(Record.class, "hazard1", Node.class);
+            ENQUEUED = lookup.findVarHandle(Record.class, "enqueued", long.class);
+            DEQUEUED = lookup.findVarHandle(Record.class, "dequeued", long.class);
+            OWNER = lookup.findVarHandle(Record.class, "owner", Thread.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile Node<T> head;
+    private volatile Node<T> tail;
+    private volatile Record records;
+    private final MpmcArrayQueue<Node<T>> sharedPool;
+    private final ThreadLocal<ThreadState<T>> threadState;
+
+    /**
+     * Constructs a new LockFreeLinkedQueue.
+     */
+    public LockFreeLinkedQueue() {
+        Node<T> dummy = new Node<>();
+        head = dummy;
+        tail = dummy;
+        sharedPool = new MpmcArrayQueue<>(SHARED_POOL);
+        threadState = ThreadLocal.withInitial(this::register);
+    }
+
+    /**
+     * Adds the data to the back of the queue.
+     *
+     * @param data the data to add to the back of the queue
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public void enqueue(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null."
+                    + " Please enter existing data.");
+        }
+        ThreadState<T> state = threadState.get();
+        Record record = state.record;
+        Node<T> node = allocate(state, data);
+        while (true) {
+            Node<T> t = tail;
+            record.hazard0 = t;
+            if (t != tail) {
+                continue;
+            }
+            Node<T> next = t.next;
+            if (next == null) {
+                if (NEXT.compareAndSet(t, null, node)) {
+                    TAIL.compareAndSet(this, t, node);
+                    break;
+                }
+            } else {
+                // tail is lagging, move it on before trying again
+                TAIL.compareAndSet(this, t, next);
+            }
+        }
+        HAZARD0.setRelease(record, null);
+        ENQUEUED.setRelease(record, record.enqueued + 1);
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue.
+     *
+     * @return the data formerly located at the front of the queue, or null
+     *         if the queue is empty
+     */
+    public T poll() {
+        ThreadState<T> state = threadState.get();
+        Record record = state.record;
+        while (true) {
+            Node<T> h = head;
+            record.hazard0 = h;
+            if (h != head) {
+                continue;
+            }
+            Node<T> t = tail;
+            Node<T> next = h.next;
+            record.hazard1 = next;
+            if (h != head) {
+                continue;
+            }
+            if (next == null) {
+                clearHazards(record);
+                return null;
+            }
+            if (h == t) {
+                // tail is lagging behind the node about to become the dummy
+                TAIL.compareAndSet(this, t, next);
+                continue;
+            }
+            T data = next.data;
+            if (HEAD.compareAndSet(this, h, next)) {
+                next.data = null;
+                clearHazards(record);
+                DEQUEUED.setRelease(record, record.dequeued + 1);
+                retire(state, h);
+                return data;
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue.
+     *
+     * @return the data formerly located at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     */
+    public T dequeue() {
+        T data = poll();
+        if (data == null) {
+            throw new NoSuchElementException("The queue is empty"
+                    + ". Please add data before attempting to remove.");
+        }
+        return data;
+    }
+
+    /**
+     * Returns the data from the front of the queue without removing it.
+     *
+     * @return the data located at the front of the queue
+     * @throws java.util.NoSuchElementException if the queue is empty
+     */
+    public T peek() {
+        Record record = threadState.get().record;
+        while (true) {
+            Node<T> h = head;
+            record.hazard0 = h;
+            if (h != head) {
+                continue;
+            }
+            Node<T> next = h.next;
+            record.hazard1 = next;
+            if (h != head) {
+                continue;
+            }
+            if (next == null) {
+                clearHazards(record);
+                throw new NoSuchElementException("The queue is empty"
+                        + ". Please add data before attempting to peek.");
+            }
+            // acquire, so the check of head below cannot be done before this
+            // read; the data is only cleared after head moves past h
+            T data = (T) DATA.getAcquire(next);
+            if (h == head) {
+                clearHazards(record);
+                return data;
+            }
+        }
+    }
+
+    /**
+     * Returns whether or not the queue is empty. With other threads
+     * enqueuing or dequeuing this is only a snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the size of the queue, the total of every thread's enqueues
+     * less the total of every thread's dequeues. It is exact when no
+     * thread is enqueuing or dequeuing, and otherwise only a snapshot.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        long dequeued = 0;
+        long enqueued = 0;
+        // dequeues first, since each one follows some enqueue
+        for (Record r = records; r != null; r = r.next) {
+            dequeued += (long) DEQUEUED.getAcquire(r);
+        }
+        for (Record r = records; r != null; r = r.next) {
+            enqueued += (long) ENQUEUED.getAcquire(r);
+        }
+        return (int) Math.max(0, Math.min(enqueued - dequeued, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Creates the state of a thread using the queue for the first time,
+     * taking over the record of a thread that has died if there is one.
+     *
+     * @return the state of the current thread
+     */
+    private ThreadState<T> register() {
+        Thread current = Thread.currentThread();
+        for (Record r = records; r != null; r = r.next) {
+            Thread owner = r.owner;
+            if (!owner.isAlive() && OWNER.compareAndSet(r, owner, current)) {
+                clearHazards(r);
+                return new ThreadState<>(r);
+            }
+        }
+        Record record = new Record(current);
+        do {
+            record.next = records;
+        } while (!RECORDS.compareAndSet(this, record.next, record));
+        return new ThreadState<>(record);
+    }
+
+    /**
+     * Takes a free node from the thread's pool, then the shared pool, and
+     * only allocates one if both are empty.
+     *
+     * @param state the state of the current thread
+     * @param data  the data the node will hold
+     * @return a node holding data and no next node
+     */
+    private Node<T> allocate(ThreadState<T> state, T data) {
+        Node<T> node;
+        if (state.poolSize > 0) {
+            node = state.pool[--state.poolSize];
+            state.pool[state.poolSize] = null;
+        } else {
+            node = sharedPool.poll();
+            if (node == null) {
+                node = new Node<>();
+            }
+        }
+        node.data = data;
+        NEXT.set(node, null);
+        return node;
+    }
+
+    /**
+     * Retires a node that is no longer in the queue, and frees every
+     * retired node no hazard pointer names once enough have gathered.
+     *
+     * @param state the state of the current thread
+     * @param node  the node to retire
+     */
+    private void retire(ThreadState<T> state, Node<T> node) {
+        state.retired[state.retiredSize++] = node;
+        if (state.retiredSize < state.retired.length) {
+            return;
+        }
+        int hazardCount = 0;
+        for (Record r = records; r != null; r = r.next) {
+            if (hazardCount + 2 > state.hazards.length) {
+                state.hazards = Arrays.copyOf(state.hazards, state.hazards.length * 2);
+            }
+            Object h0 = r.hazard0;
+            Object h1 = r.hazard1;
+            if (h0 != null) {
+                state.hazards[hazardCount++] = h0;
+            }
+            if (h1 != null) {
+                state.hazards[hazardCount++] = h1;
+            }
+        }
+        int kept = 0;
+        for (int i = 0; i < state.retiredSize; i++) {
+            Node<T> retired = state.retired[i];
+            state.retired[i] = null;
+            if (isHazard(state.hazards, hazardCount, retired)) {
+                state.retired[kept++] = retired;
+            } else {
+                free(state, retired);
+            }
+        }
+        state.retiredSize = kept;
+        Arrays.fill(state.hazards, 0, hazardCount, null);
+        // with many threads most retired nodes may be hazards, so make room
+        if (kept > state.retired.length / 2) {
+            state.retired = Arrays.copyOf(state.retired, state.retired.length * 2);
+        }
+    }
+
+    /**
+     * Returns the node to the thread's pool, or to the shared pool if the
+     * thread's is full, or leaves it to the garbage collector if both are.
+     *
+     * @param state the state of the current thread
+     * @param node  the node to free
+     */
+    private void free(ThreadState<T> state, Node<T> node) {
+        node.data = null;
+        if (state.poolSize < LOCAL_POOL) {
+            state.pool[state.poolSize++] = node;
+        } else {
+            sharedPool.offer(node);
+        }
+    }
+
+    /**
+     * Returns whether or not the node is one of the hazards.
+     *
+     * @param hazards the hazard pointers seen
+     * @param count   the number of hazard pointers seen
+     * @param node    the node to look for
+     * @return true if found, false otherwise
+     */
+    private static boolean isHazard(Object[] hazards, int count, Object node) {
+        for (int i = 0; i < count; i++) {
+            if (hazards[i] == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Clears both hazard pointers of the record.
+     *
+     * @param record the record of the current thread
+     */
+    private static void clearHazards(Record record) {
+        HAZARD0.setRelease(record, null);
+        HAZARD1.setRelease(record, null);
+    }
+
+    /**
+     * A node of the queue, reused once it leaves the queue.
+     */
+    private static final class Node<T> {
+
+        private T data;
+        private volatile Node<T> next;
+    }
+
+    /**
+     * The part of a thread's state other threads read: its hazard
+     * pointers and its counts. A record is never removed, but a thread
+     * registering after its owner died takes it over, counts included.
+     */
+    private static final class Record {
+
+        private volatile Node<?> hazard0;
+        private volatile Node<?> hazard1;
+        private volatile long enqueued;
+        private volatile long dequeued;
+        private volatile Thread owner;
+        private Record next;
+
+        /**
+         * Constructs a new Record.
+         *
+         * @param owner the thread the record belongs to
+         */
+        private Record(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * The part of a thread's state only that thread reads: its record, its
+     * pool of free nodes and its retired nodes.
+     */
+    private static final class ThreadState<T> {
+
+        private final Record record;
+        private final Node<T>[] pool;
+        private int poolSize;
+        private Node<T>[] retired;
+        private int retiredSize;
+        private Object[] hazards;
+
+        /**
+         * Constructs a new ThreadState.
+         *
+         * @param record the record of the thread
+         */
+        private ThreadState(Record record) {
+            this.record = record;
+            Node<?>[] arr = new Node<?>[LOCAL_POOL];
+            pool = (Node<T>[]) arr;
+            Node<?>[] arr2 = new Node<?>[RETIRE_THRESHOLD];
+            retired = (Node<T>[]) arr2;
+            hazards = new Object[16];
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * My implementation of a multi producer, multi consumer ArrayQueue.
+ *
+ * Any number of threads may offer and poll at the same time without
+ * locks. The backing array is a ring of a power of two slots, and each
+ * slot has its own sequence number saying whose turn it is. tail is the
+ * number of elements ever claimed by producers and head the number ever
+ * claimed by consumers. The slot for tail t is free when its sequence is
+ * t; a producer claims it by moving tail from t to t + 1 with a compare
+ * and set, writes the element, and sets the sequence to t + 1 with
+ * release semantics. A consumer at head h waits for sequence h + 1,
+ * claims it the same way through head, clears the slot, and hands it to
+ * the producer one lap later by setting the sequence to h + capacity.
+ * Producers only contend with producers on tail, consumers with
+ * consumers on head, and the two sides meet only on a slot's sequence.
+ *
+ * offer and poll never block: they fail when the queue is full or empty.
+ * put, take and the timed offer and poll wrap them, spinning briefly,
+ * then yielding, then parking for growing intervals, up to a millisecond,
+ * until they succeed. There are no waiter lists, so a blocked thread can
+ * notice a change up to that interval late.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class MpmcArrayQueue<T> extends MpmcArrayQueueConsumerFields {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /*
+     * How many times a blocking call spins before it starts to park.
+     */
+    private static final int SPINS = 1 << 7;
+
+    /*
+     * How many times a blocking call yields after spinning, before it
+     * starts to park.
+     */
+    private static final int YIELDS = 1 << 6;
+
+    /*
+     * The longest a blocking call parks between attempts, in nanoseconds.
+     */
+    private static final long MAX_PARK_NANOS = 1_000_000;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(MpmcArrayQueueConsumerFields.class, "head", long.class);
+            TAIL = lookup.findVarHandle(MpmcArrayQueueProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * Keeps the fields of a subclass, or of the next object on the heap,
+     * off the cache line holding head.
+     */
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    private final T[] backingArray;
+    private final long[] sequences;
+    private final int mask;
+
+    /**
+     * Constructs a new MpmcArrayQueue.
+     *
+     * @param capacity the number of elements the queue holds, rounded up
+     *                 to a power of two of at least 2
+     * @throws java.lang.IllegalArgumentException if capacity is not
+     *                                            positive or over 2^30
+     */
+    public MpmcArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity is out of range."
+                    + " Please enter a capacity from 1 to 2^30.");
+        }
+        // one slot would not tell a full turn from an empty one
+        int length = Math.max(2, 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1)));
+        Object[] arr = new Object[length];
+        backingArray = (T[]) arr;
+        sequences = new long[length];
+        for (int i = 0; i < length; i++) {
+            sequences[i] = i;
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the data to the back of the queue if there is room.
+     *
+     * @param data the data to add to the back of the queue
+     * @return true if the data was added, false if the queue is full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null."
+                    + " Please enter existing data.");
+        }
+        long t = (long) TAIL.getVolatile(this);
+        while (true) {
+            int index = (int) t & mask;
+            long diff = (long) SEQUENCES.getAcquire(sequences, index) - t;
+            if (diff == 0) {
+                if (TAIL.compareAndSet(this, t, t + 1)) {
+                    backingArray[index] = data;
+                    SEQUENCES.setRelease(sequences, index, t + 1);
+                    return true;
+                }
+                t = (long) TAIL.getVolatile(this);
+            } else if (diff < 0) {
+                // the slot still holds the element from one lap ago
+                return false;
+            } else {
+                // another producer took this slot first
+                t = (long) TAIL.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue.
+     *
+     * @return the data formerly located at the front of the queue, or null
+     *         if the queue is empty
+     */
+    public T poll() {
+        long h = (long) HEAD.getVolatile(this);
+        while (true) {
+            int index = (int) h & mask;
+            long diff = (long) SEQUENCES.getAcquire(sequences, index) - (h + 1);
+            if (diff == 0) {
+                if (HEAD.compareAndSet(this, h, h + 1)) {
+                    T data = backingArray[index];
+                    backingArray[index] = null;
+                    SEQUENCES.setRelease(sequences, index, h + mask + 1);
+                    return data;
+                }
+                h = (long) HEAD.getVolatile(this);
+            } else if (diff < 0) {
+                // no producer has filled this slot yet
+                return null;
+            } else {
+                // another consumer took this slot first
+                h = (long) HEAD.getVolatile(this);
+            }
+        }
+    }
+
+    /**
+     * Adds the data to the back of the queue, waiting for room if it is
+     * full.
+     *
+     * @param data the data to add to the back of the queue
+     * @throws java.lang.IllegalArgumentException if data is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public void put(T data) throws InterruptedException {
+        offer(data, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Adds the data to the back of the queue, waiting up to the timeout for
+     * room if it is full.
+     *
+     * @param data    the data to add to the back of the queue
+     * @param timeout how long to wait, in units of unit
+     * @param unit    the unit of timeout
+     * @return true if the data was added, false if the timeout passed first
+     * @throws java.lang.IllegalArgumentException if data or unit is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public boolean offer(T data, long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new IllegalArgumentException("The unit you entered is null."
+                    + " Please enter a unit.");
+        }
+        long deadline = deadline(unit.toNanos(timeout));
+        for (int attempt = 0; !offer(data); attempt++) {
+            if (!backOff(attempt, deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue, waiting for
+     * data if it is empty.
+     *
+     * @return the data formerly located at the front of the queue
+     * @throws java.lang.InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue, waiting up
+     * to the timeout for data if it is empty.
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit    the unit of timeout
+     * @return the data formerly located at the front of the queue, or null
+     *         if the timeout passed first
+     * @throws java.lang.IllegalArgumentException if unit is null
+     * @throws java.lang.InterruptedException     if interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new IllegalArgumentException("The unit you entered is null."
+                    + " Please enter a unit.");
+        }
+        long deadline = deadline(unit.toNanos(timeout));
+        T data = poll();
+        for (int attempt = 0; data == null; attempt++) {
+            if (!backOff(attempt, deadline)) {
+                return null;
+            }
+            data = poll();
+        }
+        return data;
+    }
+
+    /**
+     * Returns whether or not the queue is empty. With other threads
+     * offering or polling this is only a snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the number of elements the queue holds
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the size of the queue. With other threads offering or
+     * polling this is only a snapshot.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        // head first, so the difference is never negative
+        long h = (long) HEAD.getVolatile(this);
+        long t = (long) TAIL.getVolatile(this);
+        return (int) Math.min(t - h, mask + 1);
+    }
+
+    /**
+     * Returns the System.nanoTime at which a wait of timeout nanoseconds
+     * ends, or Long.MAX_VALUE for a wait that never does.
+     *
+     * @param timeout the length of the wait in nanoseconds
+     * @return the deadline
+     */
+    private static long deadline(long timeout) {
+        long now = System.nanoTime();
+        long deadline = now + Math.max(timeout, 0);
+        // a timeout too long to add to now never ends either
+        return deadline < now ? Long.MAX_VALUE : deadline;
+    }
+
+    /**
+     * Waits before the next attempt of a blocking call: spins for the
+     * first SPINS attempts, yields for the next YIELDS, then parks for
+     * twice as long each time, up to MAX_PARK_NANOS, never past the
+     * deadline.
+     *
+     * @param attempt  the number of attempts that have failed so far
+     * @param deadline the deadline from deadline
+     * @return false if the deadline has passed, true otherwise
+     * @throws java.lang.InterruptedException if the thread is interrupted
+     */
+    private static boolean backOff(int attempt, long deadline) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long remaining = deadline == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        if (attempt < SPINS) {
+            Thread.onSpinWait();
+        } else if (attempt < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            int doublings = Math.min(attempt - SPINS - YIELDS, 20);
+            LockSupport.parkNanos(Math.min(Math.min(1_000L << doublings, MAX_PARK_NANOS), remaining));
+        }
+        return true;
+    }
+}
+
+/**
+ * Keeps tail off the cache line of the object header and anything before
+ * the queue on the heap.
+ */
+abstract class MpmcArrayQueuePad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The sequence producers claim slots from.
+ */
+abstract class MpmcArrayQueueProducerFields extends MpmcArrayQueuePad0 {
+    long tail;
+}
+
+/**
+ * Keeps head off the cache line holding tail.
+ */
+abstract class MpmcArrayQueuePad1 extends MpmcArrayQueueProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+/**
+ * The sequence consumers claim slots from.
+ */
+abstract class MpmcArrayQueueConsumerFields extends MpmcArrayQueuePad1 {
+    long head;
+}
@@ -0,0 +1,283 @@
+package datastructures.queue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.Consumer;
+
+/**
+ * My implementation of a single producer, single consumer ArrayQueue.
+ *
+ * One thread may offer and one other thread may poll at the same time
+ * without any locks. The backing array is a ring of a power of two
+ * slots, indexed by two ever increasing sequences: tail, the number of
+ * elements ever offered, written only by the producer, and head, the
+ * number ever polled, written only by the consumer. The producer writes
+ * the element and then publishes it by storing tail with release
+ * semantics; the consumer reads tail with acquire semantics, so it always
+ * sees the element. Polling mirrors this through head, after clearing
+ * the slot.
+ *
+ * Each side also keeps a cached copy of the other side's sequence and
+ * only reads the real one when the cache says the queue is full or
+ * empty, so in the common case neither thread touches the other's cache
+ * line. head and tail sit in superclasses padded with 64 bytes either
+ * side, so they never share a cache line with each other or with
+ * anything else. offerBatch and drainTo publish a whole batch with one
+ * release store.
+ *
+ * Using the queue from more than one producer or more than one consumer
+ * thread at a time corrupts it.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public class SpscArrayQueue<T> extends SpscArrayQueueConsumerFields {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(SpscArrayQueueConsumerFields.class, "head", long.class);
+            TAIL = lookup.findVarHandle(SpscArrayQueueProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /*
+     * Keeps the fields of a subclass, or of the next object on the heap,
+     * off the cache line holding head.
+     */
+    private long p00, p01, p02, p03, p04, p05, p06, p07;
+
+    private final T[] backingArray;
+    private final int mask;
+
+    /**
+     * Constructs a new SpscArrayQueue.
+     *
+     * @param capacity the number of elements the queue holds, rounded up
+     *                 to a power of two
+     * @throws java.lang.IllegalArgumentException if capacity is not
+     *                                            positive or over 2^30
+     */
+    public SpscArrayQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("The capacity is out of range."
+                    + " Please enter a capacity from 1 to 2^30.");
+        }
+        int length = 1 << (32 - Integer.numberOfLeadingZeros(capacity - 1));
+        Object[] arr = new Object[length];
+        backingArray = (T[]) arr;
+        mask = length - 1;
+    }
+
+    /**
+     * Adds the data to the back of the queue if there is room. Only the
+     * producer thread may call this.
+     *
+     * @param data the data to add to the back of the queue
+     * @return true if the data was added, false if the queue is full
+     * @throws java.lang.IllegalArgumentException if data is null
+     */
+    public boolean offer(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("The data you entered is null."
+                    + " Please enter existing data.");
+        }
+        long t = tail;
+        if (t - cachedHead > mask) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            if (t - cachedHead > mask) {
+                return false;
+            }
+        }
+        backingArray[(int) t & mask] = data;
+        TAIL.setRelease(this, t + 1);
+        return true;
+    }
+
+    /**
+     * Adds as many elements of the batch as there is room for to the back
+     * of the queue, in order, and publishes them together. Only the
+     * producer thread may call this.
+     *
+     * @param batch the data to add
+     * @return the number of elements added, from the front of the batch
+     * @throws java.lang.IllegalArgumentException if batch or any of its
+     *                                            elements is null
+     */
+    public int offerBatch(T[] batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("The data you entered is null."
+                    + " Please enter existing data.");
+        }
+        for (T data : batch) {
+            if (data == null) {
+                throw new IllegalArgumentException("The data you entered contains null."
+                        + " Please enter existing data.");
+            }
+        }
+        long t = tail;
+        long room = mask + 1 - (t - cachedHead);
+        if (room < batch.length) {
+            cachedHead = (long) HEAD.getAcquire(this);
+            room = mask + 1 - (t - cachedHead);
+        }
+        int count = (int) Math.min(room, batch.length);
+        if (count == 0) {
+            return 0;
+        }
+        int start = (int) t & mask;
+        int firstPart = Math.min(count, backingArray.length - start);
+        System.arraycopy(batch, 0, backingArray, start, firstPart);
+        System.arraycopy(batch, firstPart, backingArray, 0, count - firstPart);
+        TAIL.setRelease(this, t + count);
+        return count;
+    }
+
+    /**
+     * Removes and returns the data from the front of the queue. Only the
+     * consumer thread may call this.
+     *
+     * @return the data formerly located at the front of the queue, or null
+     *         if the queue is empty
+     */
+    public T poll() {
+        long h = head;
+        if (h >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        T data = backingArray[index];
+        backingArray[index] = null;
+        HEAD.setRelease(this, h + 1);
+        return data;
+    }
+
+    /**
+     * Removes up to limit elements from the front of the queue, passing
+     * each to the sink in order, and releases their slots together. If the
+     * sink throws, the elements it accepted are removed and the one it
+     * threw on stays at the front. Only the consumer thread may call this.
+     *
+     * @param sink  the consumer to pass each element to
+     * @param limit the most elements to remove
+     * @return the number of elements removed
+     * @throws java.lang.IllegalArgumentException if sink is null or limit is
+     *                                            negative
+     */
+    public int drainTo(Consumer<? super T> sink, int limit) {
+        if (sink == null) {
+            throw new IllegalArgumentException("The sink you entered is null."
+                    + " Please enter a sink.");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("The limit you entered is negative."
+                    + " Please enter a limit greater than or equal to 0.");
+        }
+        long h = head;
+        if (cachedTail - h < limit) {
+            cachedTail = (long) TAIL.getAcquire(this);
+        }
+        int count = (int) Math.min(cachedTail - h, limit);
+        int consumed = 0;
+        try {
+            while (consumed < count) {
+                int index = (int) (h + consumed) & mask;
+                sink.accept(backingArray[index]);
+                // cleared only once accepted, so an element the sink
+                // throws on stays at the front of the queue
+                backingArray[index] = null;
+                consumed++;
+            }
+        } finally {
+            HEAD.setRelease(this, h + consumed);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the data from the front of the queue without removing it.
+     * Only the consumer thread may call this.
+     *
+     * @return the data located at the front of the queue, or null if the
+     *         queue is empty
+     */
+    public T peek() {
+        long h = head;
+        if (h >= cachedTail) {
+            cachedTail = (long) TAIL.getAcquire(this);
+            if (h >= cachedTail) {
+                return null;
+            }
+        }
+        return backingArray[(int) h & mask];
+    }
+
+    /**
+     * Returns whether or not the queue is empty. From a thread other than
+     * the producer and the consumer this is only a snapshot.
+     *
+     * @return true if empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return the number of elements the queue holds
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the size of the queue. From a thread other than the producer
+     * and the consumer this is only a snapshot.
+     *
+     * @return the size of the queue
+     */
+    public int size() {
+        // head first, so the difference is never negative
+        long h = (long) HEAD.getAcquire(this);
+        long t = (long) TAIL.getAcquire(this);
+        return (int) Math.min(t - h, mask + 1);
+    }
+}
+
+/**
+ * Keeps tail off the cache line of the object header and anything before
+ * the queue on the heap.
+ */
+abstract class SpscArrayQueuePad0 {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+/**
+ * The fields only the producer writes.
+ */
+abstract class SpscArrayQueueProducerFields extends SpscArrayQueuePad0 {
+    long tail;
+    long cachedHead;
+}
+
+/**
+ * Keeps head off the cache line holding tail.
+ */
+abstract class SpscArrayQueuePad1 extends SpscArrayQueueProducerFields {
+    long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+/**
+ * The fields only the consumer writes.
+ */
+abstract class SpscArrayQueueConsumerFields extends SpscArrayQueuePad1 {
+    long head;
+    long cachedTail;
+}
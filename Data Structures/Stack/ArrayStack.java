@@ -1,3 +1,5 @@
+package datastructures.stack;
+
 import java.util.NoSuchElementException;
 
 /**
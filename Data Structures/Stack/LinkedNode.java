@@ -1,3 +1,5 @@
+package datastructures.stack;
+
 /**
  * Node class used for implementing the linked stack and queue.
  *
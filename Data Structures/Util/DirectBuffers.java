@@ -0,0 +1,133 @@
+package datastructures.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Direct and mapped buffer operations shared by the structures that keep
+ * fixed width records off the heap: allocating buffers, copying and
+ * comparing bytes 8 at a time, and releasing a buffer's memory without
+ * waiting for the garbage collector.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class DirectBuffers {
+
+    // reads 8 bytes of an array at once, in the order the buffers use
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // without it free leaves the buffers to the garbage collector
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private DirectBuffers() {
+    }
+
+    /**
+     * Allocates a zeroed direct buffer in native byte order.
+     *
+     * @param bytes the capacity
+     * @return the buffer
+     */
+    public static ByteBuffer allocate(int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Releases the memory of a direct buffer, or unmaps a mapped one, now.
+     * The buffer must not be used afterwards.
+     *
+     * @param buffer the buffer to release
+     */
+    public static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException e) {
+            // leave it to the garbage collector
+        }
+    }
+
+    /**
+     * Copies bytes into a buffer. Cheaper than a bulk put for the few bytes
+     * of a key or value.
+     *
+     * @param buffer the buffer
+     * @param offset where to write them
+     * @param bytes  the bytes
+     */
+    public static void write(ByteBuffer buffer, int offset, byte[] bytes) {
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            buffer.putLong(offset + i, (long) LONGS.get(bytes, i));
+        }
+        for (; i < bytes.length; i++) {
+            buffer.put(offset + i, bytes[i]);
+        }
+    }
+
+    /**
+     * Copies bytes out of a buffer.
+     *
+     * @param buffer the buffer
+     * @param offset where to read them
+     * @param dest   the array to fill
+     */
+    public static void read(ByteBuffer buffer, int offset, byte[] dest) {
+        int i = 0;
+        for (; i + 8 <= dest.length; i += 8) {
+            LONGS.set(dest, i, buffer.getLong(offset + i));
+        }
+        for (; i < dest.length; i++) {
+            dest[i] = buffer.get(offset + i);
+        }
+    }
+
+    /**
+     * Returns whether the bytes of a buffer at offset equal bytes.
+     *
+     * @param buffer the buffer
+     * @param offset where to compare
+     * @param bytes  the bytes
+     * @return true if every byte matches
+     */
+    public static boolean bytesEqual(ByteBuffer buffer, int offset, byte[] bytes) {
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            if (buffer.getLong(offset + i) != (long) LONGS.get(bytes, i)) {
+                return false;
+            }
+        }
+        for (; i < bytes.length; i++) {
+            if (buffer.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package datastructures.util;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps track of the files that the file backed structures in this JVM
+ * have open. File locks only keep other processes out, and closing any
+ * channel to a file can release every lock the JVM holds on it, so a
+ * structure claims its file here before it opens a channel of its own.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class FileLocks {
+
+    private static final Set<Path> OPEN = new HashSet<>();
+
+    private FileLocks() {
+    }
+
+    /**
+     * Claims the given file for the caller until it is released.
+     *
+     * @param path the file
+     * @return the key to release the file with
+     * @throws java.io.IOException             if the path cannot be resolved
+     * @throws java.lang.IllegalStateException if the file is already claimed
+     */
+    public static Path claim(Path path) throws IOException {
+        Path key;
+        try {
+            key = path.toRealPath();
+        } catch (NoSuchFileException e) {
+            key = path.toAbsolutePath().normalize();
+        }
+        synchronized (OPEN) {
+            if (!OPEN.add(key)) {
+                throw new IllegalStateException("The file is already open in this process.");
+            }
+        }
+        return key;
+    }
+
+    /**
+     * Releases a file claimed with claim.
+     *
+     * @param key the key claim returned
+     */
+    public static void release(Path key) {
+        synchronized (OPEN) {
+            OPEN.remove(key);
+        }
+    }
+}
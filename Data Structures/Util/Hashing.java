@@ -0,0 +1,78 @@
+package datastructures.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Hashing shared by the hash maps of several packages: mixing hash codes
+ * for power of two tables, sizing those tables, and hashing the bytes of
+ * the fixed width keys of the off-heap and mapped maps.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class Hashing {
+
+    // reads 8 bytes of an array at once, in the order the buffers use
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private Hashing() {
+    }
+
+    /**
+     * Mixes every bit of the hash into the low bits, which are the only ones
+     * a power of two mask keeps. Keys whose hashCodes differ only in their
+     * high bits, such as multiples of a power of two, would otherwise share
+     * buckets.
+     *
+     * @param hash the key's hashCode
+     * @return the mixed hash
+     */
+    public static int spread(int hash) {
+        int h = hash ^ (hash >>> 16);
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Rounds up to the next power of two, at least 2.
+     *
+     * @param n the requested length
+     * @return the smallest power of two that is at least n
+     * @throws java.lang.IllegalArgumentException if that is over 2^30
+     */
+    public static int powerOfTwoAtLeast(int n) {
+        if (n <= 2) {
+            return 2;
+        }
+        int highest = Integer.highestOneBit(n - 1) << 1;
+        if (highest <= 0) {
+            throw new IllegalArgumentException("The entered length is too large for an array."
+                    + " Please enter a length of at most 2^30.");
+        }
+        return highest;
+    }
+
+    /**
+     * Hashes bytes, 8 at a time where it can. The result only depends on the
+     * bytes and the platform's byte order, so it is the same in every run.
+     *
+     * @param bytes the bytes
+     * @return the spread hash
+     */
+    public static int hash(byte[] bytes) {
+        long h = 1;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            h = 31 * h + (long) LONGS.get(bytes, i);
+        }
+        for (; i < bytes.length; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return spread((int) (h ^ (h >>> 32)));
+    }
+}
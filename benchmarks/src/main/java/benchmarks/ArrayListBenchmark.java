@@ -0,0 +1,179 @@
+package benchmarks;
+
+import datastructures.arraylist.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the ArrayList.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    /*
+     * The number of elements the splice benchmarks insert and remove.
+     */
+    private static final int BATCH = 1000;
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] data;
+    private Integer[] batch;
+    private ArrayList<Integer> filled;
+    private int cursor;
+
+    /**
+     * Builds the data set and a pre-filled list for the read benchmarks.
+     */
+    @Setup
+    public void setUp() {
+        data = KeyDistribution.UNIFORM.boxedKeys(size);
+        batch = KeyDistribution.SEQUENTIAL.boxedKeys(BATCH);
+        filled = new ArrayList<>();
+        for (Integer element : data) {
+            filled.addToBack(element);
+        }
+    }
+
+    /**
+     * Fills an empty list from the back, including every resize.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public ArrayList<Integer> addToBack() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (Integer element : data) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Adds then removes one element at the front of a full list.
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer addAndRemoveFront() {
+        filled.addToFront(data[0]);
+        return filled.removeFromFront();
+    }
+
+    /**
+     * Slides a window over a full list: one element in at the back, one out
+     * at the front.
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer slidingWindow() {
+        filled.addToBack(data[cursor]);
+        cursor = cursor + 1 == size ? 0 : cursor + 1;
+        return filled.removeFromFront();
+    }
+
+    /**
+     * Adds then removes one element in the middle of a full list.
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer addAndRemoveMiddle() {
+        filled.addAtIndex(size / 2, data[0]);
+        return filled.removeAtIndex(size / 2);
+    }
+
+    /**
+     * Splices a batch into the middle of a full list and removes it again,
+     * with the bulk operations.
+     *
+     * @return the list
+     */
+    @Benchmark
+    public ArrayList<Integer> spliceBatch() {
+        filled.addAll(size / 2, batch);
+        filled.removeRange(size / 2, size / 2 + BATCH);
+        return filled;
+    }
+
+    /**
+     * Splices a batch into the middle of a full list and removes it again,
+     * one element at a time.
+     *
+     * @return the list
+     */
+    @Benchmark
+    public ArrayList<Integer> spliceLoop() {
+        for (int i = 0; i < BATCH; i++) {
+            filled.addAtIndex(size / 2 + i, batch[i]);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            filled.removeAtIndex(size / 2);
+        }
+        return filled;
+    }
+
+    /**
+     * Random access into a full list.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public Integer get() {
+        cursor = (cursor + 7919) % size;
+        return filled.get(cursor);
+    }
+
+    /**
+     * Sequential scan over a full list.
+     *
+     * @param bh sink for the elements read
+     */
+    @Benchmark
+    public void scan(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(filled.get(i));
+        }
+    }
+
+    /**
+     * Maps, filters and sums a full list with a sequential stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long streamSum() {
+        return filled.stream().mapToLong(x -> x * 0x9E3779B97F4A7C15L).filter(x -> x > 0).sum();
+    }
+
+    /**
+     * Maps, filters and sums a full list with a parallel stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long parallelStreamSum() {
+        return filled.parallelStream().mapToLong(x -> x * 0x9E3779B97F4A7C15L).filter(x -> x > 0).sum();
+    }
+}
@@ -0,0 +1,109 @@
+package benchmarks;
+
+import datastructures.bst.BST;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the BST.
+ *
+ * The tree is not self balancing and every operation recurses, so the
+ * SEQUENTIAL distribution builds a tree as deep as it is large. The fork gets
+ * a larger thread stack and the sizes are kept to depths that fit on it.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class BSTBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private Integer[] keys;
+    private Integer[] missing;
+    private BST<Integer> filled;
+
+    /**
+     * Builds the key sets and a tree already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        keys = distribution.boxedKeys(size);
+        missing = distribution.missingKeys(size);
+        filled = new BST<>();
+        for (Integer key : keys) {
+            filled.add(key);
+        }
+    }
+
+    /**
+     * Builds a tree from every key.
+     *
+     * @return the tree
+     */
+    @Benchmark
+    public BST<Integer> add() {
+        BST<Integer> tree = new BST<>();
+        for (Integer key : keys) {
+            tree.add(key);
+        }
+        return tree;
+    }
+
+    /**
+     * Looks up every key of a full tree.
+     *
+     * @param bh sink for the data read
+     */
+    @Benchmark
+    public void getHit(Blackhole bh) {
+        for (Integer key : keys) {
+            bh.consume(filled.get(key));
+        }
+    }
+
+    /**
+     * Probes a full tree with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsMiss(Blackhole bh) {
+        for (Integer key : missing) {
+            bh.consume(filled.contains(key));
+        }
+    }
+
+    /**
+     * Removes then re-adds every key of a full tree.
+     *
+     * @param bh sink for the data removed
+     */
+    @Benchmark
+    public void removeAndAdd(Blackhole bh) {
+        for (Integer key : keys) {
+            bh.consume(filled.remove(key));
+            filled.add(key);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package benchmarks;
+
+import java.util.Arrays;
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line
+ * (benchmark regex, -p size=..., -f, -wi, -l, ...) and attaches the GC
+ * profiler unless -prof gc was already given, so every result reports the
+ * allocation rate next to ops/s.
+ *
+ * <pre>
+ *     mvn -B package
+ *     java -jar benchmarks/target/benchmarks.jar ExternalChainingHashMap -p size=100000
+ * </pre>
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Not instantiable.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks selected by args with the GC profiler enabled.
+     *
+     * @param args JMH command line arguments
+     * @throws Exception if JMH fails to run
+     */
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("-prof") && args[i + 1].startsWith("gc")) {
+                Main.main(args);
+                return;
+            }
+        }
+        String[] withGc = Arrays.copyOf(args, args.length + 2);
+        withGc[args.length] = "-prof";
+        withGc[args.length + 1] = "gc";
+        Main.main(withGc);
+    }
+}
@@ -0,0 +1,139 @@
+package benchmarks;
+
+import datastructures.hashmap.BoundedCache;
+import datastructures.hashmap.LruPolicy;
+import datastructures.hashmap.WTinyLfuPolicy;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading gets on a BoundedCache under a skewed workload: keys follow a
+ * Zipf distribution, interrupted by scans of keys that are never asked for
+ * again. Besides ops/s, the hits and misses counters show the hit rate of
+ * each policy.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoundedCacheBenchmark {
+
+    /*
+     * The number of distinct popular keys.
+     */
+    private static final int KEYS = 100000;
+
+    /*
+     * The length of the precomputed access trace.
+     */
+    private static final int TRACE_LENGTH = 1 << 21;
+
+    @Param({"1000", "10000"})
+    private int maximumSize;
+
+    @Param({"LRU", "W_TINY_LFU"})
+    private String policy;
+
+    private Integer[] trace;
+    private BoundedCache<Integer, Integer> cache;
+    private int next;
+
+    /**
+     * Hit and miss counts of one iteration, reported next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+
+        public long hits;
+        public long misses;
+
+        /**
+         * Zeroes the counts before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Builds the trace and an empty cache whose loader returns the key.
+     */
+    @Setup
+    public void setUp() {
+        trace = zipfTrace();
+        if (policy.equals("LRU")) {
+            cache = new BoundedCache<>(maximumSize, LruPolicy::new, (key, value) -> 1, key -> key);
+        } else {
+            cache = new BoundedCache<>(maximumSize, WTinyLfuPolicy::new, (key, value) -> 1, key -> key);
+        }
+        next = 0;
+    }
+
+    /**
+     * Gets the next key of the trace, loading it on a miss.
+     *
+     * @param counters the hit and miss counts
+     * @return the value
+     */
+    @Benchmark
+    public Integer get(Counters counters) {
+        long missesBefore = cache.missCount();
+        Integer value = cache.get(trace[next]);
+        next = (next + 1) & (TRACE_LENGTH - 1);
+        if (cache.missCount() == missesBefore) {
+            counters.hits++;
+        } else {
+            counters.misses++;
+        }
+        return value;
+    }
+
+    /**
+     * Samples the access trace: Zipf distributed keys with exponent 0.9,
+     * where every 50000 accesses start with a scan of 5000 unique keys.
+     *
+     * @return the trace
+     */
+    private static Integer[] zipfTrace() {
+        double[] cumulative = new double[KEYS];
+        double sum = 0;
+        for (int i = 0; i < KEYS; i++) {
+            sum += 1.0 / Math.pow(i + 1, 0.9);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(KeyDistribution.SEED);
+        Integer[] trace = new Integer[TRACE_LENGTH];
+        int scanKey = KEYS;
+        for (int i = 0; i < TRACE_LENGTH; i++) {
+            if (i % 50000 < 5000) {
+                trace[i] = scanKey++;
+            } else {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                trace[i] = index < 0 ? -index - 1 : index;
+            }
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,124 @@
+package benchmarks;
+
+import datastructures.circularlinkedlist.CircularSinglyLinkedList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the CircularSinglyLinkedList.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CircularSinglyLinkedListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] data;
+    private CircularSinglyLinkedList<Integer> filled;
+
+    /**
+     * Builds the data set and a list already holding size elements.
+     */
+    @Setup
+    public void setUp() {
+        data = KeyDistribution.UNIFORM.boxedKeys(size);
+        filled = new CircularSinglyLinkedList<>();
+        for (Integer element : data) {
+            filled.addToBack(element);
+        }
+    }
+
+    /**
+     * Fills an empty list from the back.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public CircularSinglyLinkedList<Integer> addToBack() {
+        CircularSinglyLinkedList<Integer> list = new CircularSinglyLinkedList<>();
+        for (Integer element : data) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Adds then removes one element at the front of a full list.
+     *
+     * @return the element removed
+     */
+    @Benchmark
+    public Integer addAndRemoveFront() {
+        filled.addToFront(data[0]);
+        return filled.removeFromFront();
+    }
+
+    /**
+     * Adds then removes one element at the back of a full list.
+     *
+     * @return the element removed
+     */
+    @Benchmark
+    public Integer addAndRemoveBack() {
+        filled.addToBack(data[0]);
+        return filled.removeFromBack();
+    }
+
+    /**
+     * Reads the middle element, a walk of size / 2 nodes.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public Integer getMiddle() {
+        return filled.get(size / 2);
+    }
+
+    /**
+     * Copies the list out into an array.
+     *
+     * @return the array
+     */
+    @Benchmark
+    public Object[] toArray() {
+        return filled.toArray();
+    }
+
+    /**
+     * Maps, filters and sums a full list with a sequential stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long streamSum() {
+        return filled.stream().mapToLong(x -> x * 0x9E3779B97F4A7C15L).filter(x -> x > 0).sum();
+    }
+
+    /**
+     * Maps, filters and sums a full list with a parallel stream.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long parallelStreamSum() {
+        return filled.parallelStream().mapToLong(x -> x * 0x9E3779B97F4A7C15L).filter(x -> x > 0).sum();
+    }
+}
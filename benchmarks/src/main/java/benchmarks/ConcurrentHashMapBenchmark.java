@@ -0,0 +1,223 @@
+package benchmarks;
+
+import datastructures.hashmap.ConcurrentExternalChainingHashMap;
+import datastructures.hashmap.ExternalChainingHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Throughput of one map shared by every benchmark thread: the lock striped
+ * ConcurrentExternalChainingHashMap, an ExternalChainingHashMap behind a
+ * single lock, and java.util.concurrent.ConcurrentHashMap as the reference.
+ *
+ * JMH runs a fixed number of threads per run, so main sweeps the thread
+ * count from 1 to the number of processors:
+ *
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar benchmarks.ConcurrentHashMapBenchmark
+ * </pre>
+ *
+ * A single thread count can also be run through the usual entry point with
+ * -t, for example -t 4.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConcurrentHashMapBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    @Param({"striped", "synchronized", "jdk"})
+    private String implementation;
+
+    private Integer[] keys;
+    private SharedMap map;
+
+    /**
+     * The operations every implementation is measured on.
+     */
+    private interface SharedMap {
+
+        /**
+         * Gets the value of key.
+         *
+         * @param key the key, in the map
+         * @return the value
+         */
+        Integer get(Integer key);
+
+        /**
+         * Puts key with the given value.
+         *
+         * @param key   the key
+         * @param value the value
+         * @return the previous value
+         */
+        Integer put(Integer key, Integer value);
+    }
+
+    /**
+     * The position of one benchmark thread in the key array. Threads start
+     * at different offsets so they do not walk the same buckets in lockstep.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        /**
+         * Starts the cursor at a random offset.
+         *
+         * @param shared the benchmark state
+         */
+        @Setup
+        public void setUp(ConcurrentHashMapBenchmark shared) {
+            next = (int) (Math.random() * shared.size);
+        }
+
+        /**
+         * Returns the next index, wrapping at size.
+         *
+         * @param size the number of keys
+         * @return the index
+         */
+        int next(int size) {
+            int index = next;
+            next = index + 1 == size ? 0 : index + 1;
+            return index;
+        }
+    }
+
+    /**
+     * Builds the keys and fills the selected map with all of them.
+     */
+    @Setup
+    public void setUp() {
+        keys = KeyDistribution.UNIFORM.boxedKeys(size);
+        map = create(implementation);
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+    }
+
+    /**
+     * Looks up present keys only.
+     *
+     * @param cursor this thread's position
+     * @return the value found
+     */
+    @Benchmark
+    public Integer get(Cursor cursor) {
+        Integer key = keys[cursor.next(size)];
+        return map.get(key);
+    }
+
+    /**
+     * Nine lookups for every put of an existing key, so the size stays
+     * fixed and no resize happens while measuring.
+     *
+     * @param cursor this thread's position
+     * @return the value found or replaced
+     */
+    @Benchmark
+    public Integer mixed(Cursor cursor) {
+        int index = cursor.next(size);
+        Integer key = keys[index];
+        if (index % 10 == 0) {
+            return map.put(key, key);
+        }
+        return map.get(key);
+    }
+
+    /**
+     * Creates an empty map of the given implementation.
+     *
+     * @param implementation striped, synchronized or jdk
+     * @return the map
+     */
+    private static SharedMap create(String implementation) {
+        switch (implementation) {
+            case "striped": {
+                ConcurrentExternalChainingHashMap<Integer, Integer> striped = new ConcurrentExternalChainingHashMap<>();
+                return new SharedMap() {
+                    public Integer get(Integer key) {
+                        return striped.get(key);
+                    }
+
+                    public Integer put(Integer key, Integer value) {
+                        return striped.put(key, value);
+                    }
+                };
+            }
+            case "synchronized": {
+                ExternalChainingHashMap<Integer, Integer> locked = new ExternalChainingHashMap<>();
+                return new SharedMap() {
+                    public synchronized Integer get(Integer key) {
+                        return locked.get(key);
+                    }
+
+                    public synchronized Integer put(Integer key, Integer value) {
+                        return locked.put(key, value);
+                    }
+                };
+            }
+            case "jdk": {
+                ConcurrentHashMap<Integer, Integer> jdk = new ConcurrentHashMap<>();
+                return new SharedMap() {
+                    public Integer get(Integer key) {
+                        return jdk.get(key);
+                    }
+
+                    public Integer put(Integer key, Integer value) {
+                        return jdk.put(key, value);
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unknown implementation " + implementation);
+        }
+    }
+
+    /**
+     * Runs the benchmark once per thread count, doubling from 1 up to the
+     * number of available processors, which is always included last.
+     *
+     * @param args unused
+     * @throws Exception if JMH fails to run
+     */
+    public static void main(String[] args) throws Exception {
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+            Options options = new OptionsBuilder()
+                    .include(ConcurrentHashMapBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler("gc")
+                    .build();
+            new Runner(options).run();
+            if (threads == processors) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package benchmarks;
+
+import datastructures.hashmap.CuckooHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the CuckooHashMap at a fixed load factor. The map gets
+ * the power of two number of slots at or above size and is filled to load
+ * times that, so the table never resizes during the measurement. The
+ * lookup benchmarks are sampled per call to show the latency tail, which
+ * should barely move between a half full and a 93% full table.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CuckooHashMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    @Param({"0.5", "0.93"})
+    private double load;
+
+    private int slots;
+    private Integer[] keys;
+    private Integer[] lookups;
+    private Integer[] missing;
+    private CuckooHashMap<Integer, Integer> filled;
+    private int next;
+
+    /**
+     * Builds the key sets and a map already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        slots = Integer.highestOneBit(size - 1) << 1;
+        int count = (int) (load * slots);
+        keys = distribution.boxedKeys(count);
+        lookups = KeyDistribution.shuffled(keys);
+        missing = distribution.missingKeys(count);
+        filled = new CuckooHashMap<>(slots);
+        for (Integer key : keys) {
+            filled.put(key, key);
+        }
+        next = 0;
+    }
+
+    /**
+     * Fills an empty map of the final capacity.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public CuckooHashMap<Integer, Integer> put() {
+        CuckooHashMap<Integer, Integer> map = new CuckooHashMap<>(slots);
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up one key of the full map per call, in a different order than
+     * they were inserted.
+     *
+     * @return the value read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Integer getHit() {
+        Integer value = filled.get(lookups[next]);
+        next = next + 1 == lookups.length ? 0 : next + 1;
+        return value;
+    }
+
+    /**
+     * Probes the full map with one key it does not contain per call.
+     *
+     * @return the result
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean containsKeyMiss() {
+        boolean found = filled.containsKey(missing[next]);
+        next = next + 1 == missing.length ? 0 : next + 1;
+        return found;
+    }
+
+    /**
+     * Removes then re-adds every key of a full map.
+     *
+     * @param bh sink for the values removed
+     */
+    @Benchmark
+    public void removeAndPut(Blackhole bh) {
+        for (Integer key : keys) {
+            bh.consume(filled.remove(key));
+            filled.put(key, key);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the ExternalChainingHashMap.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExternalChainingHashMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private Integer[] missing;
+    private ExternalChainingHashMap<Integer, Integer> filled;
+
+    /**
+     * Builds the key sets and a map already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        keys = distribution.boxedKeys(size);
+        lookups = KeyDistribution.shuffled(keys);
+        missing = distribution.missingKeys(size);
+        filled = new ExternalChainingHashMap<>();
+        for (Integer key : keys) {
+            filled.put(key, key);
+        }
+    }
+
+    /**
+     * Fills an empty map, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Integer, Integer> put() {
+        ExternalChainingHashMap<Integer, Integer> map = new ExternalChainingHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of a full map, in a different order than they were
+     * inserted.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHit(Blackhole bh) {
+        for (Integer key : lookups) {
+            bh.consume(filled.get(key));
+        }
+    }
+
+    /**
+     * Probes a full map with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsKeyMiss(Blackhole bh) {
+        for (Integer key : missing) {
+            bh.consume(filled.containsKey(key));
+        }
+    }
+
+    /**
+     * Removes then re-adds every key of a full map.
+     *
+     * @param bh sink for the values removed
+     */
+    @Benchmark
+    public void removeAndPut(Blackhole bh) {
+        for (Integer key : keys) {
+            bh.consume(filled.remove(key));
+            filled.put(key, key);
+        }
+    }
+
+    /**
+     * Walks every key through the live key set view.
+     *
+     * @param bh sink for the keys
+     */
+    @Benchmark
+    public void keySet(Blackhole bh) {
+        for (Integer key : filled.keySet()) {
+            bh.consume(key);
+        }
+    }
+
+    /**
+     * Walks every value through the live values view.
+     *
+     * @param bh sink for the values
+     */
+    @Benchmark
+    public void values(Blackhole bh) {
+        for (Integer value : filled.values()) {
+            bh.consume(value);
+        }
+    }
+
+    /**
+     * Visits every entry with forEach.
+     *
+     * @param bh sink for the values
+     */
+    @Benchmark
+    public void forEach(Blackhole bh) {
+        filled.forEach((key, value) -> bh.consume(value));
+    }
+
+    /**
+     * Sums the values with a parallel stream over the values view.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long parallelSum() {
+        return filled.values().parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * Counts every lookup key into the full map with merge, one chain walk
+     * per update.
+     *
+     * @return the map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Integer, Integer> countWithMerge() {
+        for (Integer key : lookups) {
+            filled.merge(key, 1, Integer::sum);
+        }
+        return filled;
+    }
+
+    /**
+     * Counts every lookup key into the full map with containsKey, get and
+     * put, three chain walks per update.
+     *
+     * @return the map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Integer, Integer> countWithProbes() {
+        for (Integer key : lookups) {
+            if (filled.containsKey(key)) {
+                filled.put(key, filled.get(key) + 1);
+            } else {
+                filled.put(key, 1);
+            }
+        }
+        return filled;
+    }
+}
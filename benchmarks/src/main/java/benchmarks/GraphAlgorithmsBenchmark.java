@@ -0,0 +1,120 @@
+package benchmarks;
+
+import algorithms.graph.Edge;
+import algorithms.graph.Graph;
+import algorithms.graph.GraphAlgorithms;
+import algorithms.graph.Vertex;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the graph algorithms on a random connected undirected graph
+ * with size vertices and roughly degree edges per vertex.
+ *
+ * The dfs recurses once per vertex, so the fork gets a larger thread stack.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class GraphAlgorithmsBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"2", "8"})
+    private int degree;
+
+    private Graph<Integer> graph;
+    private Vertex<Integer> start;
+
+    /**
+     * Builds the graph. A random spanning tree keeps it connected, the
+     * remaining edges are random.
+     */
+    @Setup
+    public void setUp() {
+        Random rand = new Random(KeyDistribution.SEED);
+        @SuppressWarnings("unchecked")
+        Vertex<Integer>[] vertices = new Vertex[size];
+        Set<Vertex<Integer>> vertexSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            vertices[i] = new Vertex<>(i);
+            vertexSet.add(vertices[i]);
+        }
+        Set<Edge<Integer>> edges = new HashSet<>();
+        for (int i = 1; i < size; i++) {
+            addUndirected(edges, vertices[i], vertices[rand.nextInt(i)], rand);
+        }
+        for (int i = 0; i < size * (degree - 1) / 2; i++) {
+            addUndirected(edges, vertices[rand.nextInt(size)], vertices[rand.nextInt(size)], rand);
+        }
+        graph = new Graph<>(vertexSet, edges);
+        start = vertices[0];
+    }
+
+    /**
+     * Adds the edge in both directions with the same random weight.
+     *
+     * @param edges the edge set
+     * @param u     one end of the edge
+     * @param v     the other end of the edge
+     * @param rand  the source of the weight
+     */
+    private static void addUndirected(Set<Edge<Integer>> edges, Vertex<Integer> u, Vertex<Integer> v,
+                                      Random rand) {
+        int weight = 1 + rand.nextInt(100);
+        edges.add(new Edge<>(u, v, weight));
+        edges.add(new Edge<>(v, u, weight));
+    }
+
+    /**
+     * Breadth first search.
+     *
+     * @return the visit order
+     */
+    @Benchmark
+    public List<Vertex<Integer>> bfs() {
+        return GraphAlgorithms.bfs(start, graph);
+    }
+
+    /**
+     * Depth first search.
+     *
+     * @return the visit order
+     */
+    @Benchmark
+    public List<Vertex<Integer>> dfs() {
+        return GraphAlgorithms.dfs(start, graph);
+    }
+
+    /**
+     * Dijkstra's shortest paths.
+     *
+     * @return the distances
+     */
+    @Benchmark
+    public Map<Vertex<Integer>, Integer> dijkstras() {
+        return GraphAlgorithms.dijkstras(start, graph);
+    }
+}
@@ -0,0 +1,146 @@
+package benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * The key distributions the benchmarks are parameterized over.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+public enum KeyDistribution {
+
+    /*
+     * 0, 1, 2, ..., n - 1 in order. The worst case for the unbalanced BST and
+     * the best case for the hash maps.
+     */
+    SEQUENTIAL,
+
+    /*
+     * n distinct keys drawn uniformly from the whole int range.
+     */
+    UNIFORM,
+
+    /*
+     * n distinct keys that are all multiples of 1024, so their low bits are
+     * identical. Stresses the hash compression function.
+     */
+    CLUSTERED;
+
+    /*
+     * Fixed seed so every run of every benchmark sees the same keys.
+     */
+    public static final long SEED = 0x5EEDL;
+
+    /**
+     * Generates n distinct keys following this distribution.
+     *
+     * @param n the number of keys to generate
+     * @return an array of n distinct keys
+     */
+    public int[] keys(int n) {
+        int[] keys = new int[n];
+        switch (this) {
+            case SEQUENTIAL:
+                for (int i = 0; i < n; i++) {
+                    keys[i] = i;
+                }
+                break;
+            case CLUSTERED:
+                for (int i = 0; i < n; i++) {
+                    keys[i] = i << 10;
+                }
+                shuffle(keys, new Random(SEED));
+                break;
+            default:
+                Random rand = new Random(SEED);
+                HashSet<Integer> seen = new HashSet<>(n * 2);
+                int i = 0;
+                while (i < n) {
+                    int key = rand.nextInt();
+                    if (seen.add(key)) {
+                        keys[i] = key;
+                        i++;
+                    }
+                }
+                break;
+        }
+        return keys;
+    }
+
+    /**
+     * Same as keys(n) but boxed, for the generic structures.
+     *
+     * @param n the number of keys to generate
+     * @return an array of n distinct boxed keys
+     */
+    public Integer[] boxedKeys(int n) {
+        int[] keys = keys(n);
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            boxed[i] = keys[i];
+        }
+        return boxed;
+    }
+
+    /**
+     * Generates n keys that are guaranteed not to be in keys(n), used to
+     * measure unsuccessful lookups.
+     *
+     * @param n the number of keys to generate
+     * @return an array of n keys disjoint from keys(n)
+     */
+    public Integer[] missingKeys(int n) {
+        HashSet<Integer> present = new HashSet<>(n * 2);
+        for (int key : keys(n)) {
+            present.add(key);
+        }
+        Random rand = new Random(~SEED);
+        Integer[] missing = new Integer[n];
+        int i = 0;
+        while (i < n) {
+            int key = rand.nextInt();
+            if (!present.contains(key)) {
+                missing[i] = key;
+                i++;
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Returns a shuffled copy of keys. Lookups should not visit keys in the
+     * order they were inserted, since that order matches the allocation order
+     * of node based structures and hides their cache misses.
+     *
+     * @param keys the keys to shuffle
+     * @return a shuffled copy of keys
+     */
+    public static Integer[] shuffled(Integer[] keys) {
+        Integer[] copy = keys.clone();
+        Random rand = new Random(SEED + 1);
+        for (int i = copy.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            Integer temp = copy[i];
+            copy[i] = copy[j];
+            copy[j] = temp;
+        }
+        return copy;
+    }
+
+    /**
+     * Fisher-Yates shuffle of the array.
+     *
+     * @param arr  the array to shuffle
+     * @param rand the source of randomness
+     */
+    public static void shuffle(int[] arr, Random rand) {
+        for (int i = arr.length - 1; i > 0; i--) {
+            int j = rand.nextInt(i + 1);
+            int temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import datastructures.queue.LinkedQueue;
+import datastructures.queue.LockFreeLinkedQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention benchmarks for the LockFreeLinkedQueue against the JDK's
+ * ConcurrentLinkedQueue and a LinkedQueue guarded by synchronized. Every
+ * thread enqueues and then dequeues on the one shared queue. Run with
+ * -prof gc to see that the LockFreeLinkedQueue allocates nothing per
+ * operation, and change the thread count with -t.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LockFreeLinkedQueueBenchmark {
+
+    private Integer element;
+    private LockFreeLinkedQueue<Integer> lockFree;
+    private ConcurrentLinkedQueue<Integer> concurrentLinked;
+    private LinkedQueue<Integer> locked;
+
+    /**
+     * Builds an empty queue of each kind.
+     */
+    @Setup
+    public void setUp() {
+        element = 42;
+        lockFree = new LockFreeLinkedQueue<>();
+        concurrentLinked = new ConcurrentLinkedQueue<>();
+        locked = new LinkedQueue<>();
+    }
+
+    /**
+     * One enqueue and one poll on the shared LockFreeLinkedQueue.
+     *
+     * @return the element polled, null if another thread took it
+     */
+    @Benchmark
+    public Integer lockFreeEnqueuePoll() {
+        lockFree.enqueue(element);
+        return lockFree.poll();
+    }
+
+    /**
+     * One offer and one poll on the shared ConcurrentLinkedQueue.
+     *
+     * @return the element polled, null if another thread took it
+     */
+    @Benchmark
+    public Integer concurrentLinkedOfferPoll() {
+        concurrentLinked.offer(element);
+        return concurrentLinked.poll();
+    }
+
+    /**
+     * One enqueue and one dequeue on the shared synchronized LinkedQueue.
+     *
+     * @return the element dequeued, null if another thread took it
+     */
+    @Benchmark
+    public Integer lockedEnqueueDequeue() {
+        synchronized (locked) {
+            locked.enqueue(element);
+        }
+        synchronized (locked) {
+            return locked.size() > 0 ? locked.dequeue() : null;
+        }
+    }
+}
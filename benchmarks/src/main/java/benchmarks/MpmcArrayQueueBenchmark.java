@@ -0,0 +1,116 @@
+package benchmarks;
+
+import datastructures.queue.MpmcArrayQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contention benchmarks for the MpmcArrayQueue against the JDK's
+ * ArrayBlockingQueue and ConcurrentLinkedQueue. Every thread offers and
+ * then polls the one shared queue, so all threads are producers and
+ * consumers at once and the queue never holds more elements than there
+ * are threads. Change the thread count with -t; the results only mean
+ * something with at least as many cores as threads.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MpmcArrayQueueBenchmark {
+
+    /*
+     * The capacity of the bounded queues.
+     */
+    private static final int CAPACITY = 1 << 10;
+
+    private Integer element;
+    private MpmcArrayQueue<Integer> mpmc;
+    private ArrayBlockingQueue<Integer> arrayBlocking;
+    private ConcurrentLinkedQueue<Integer> concurrentLinked;
+
+    /**
+     * Builds an empty queue of each kind.
+     */
+    @Setup
+    public void setUp() {
+        element = 42;
+        mpmc = new MpmcArrayQueue<>(CAPACITY);
+        arrayBlocking = new ArrayBlockingQueue<>(CAPACITY);
+        concurrentLinked = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * One offer and one poll on the shared MpmcArrayQueue.
+     *
+     * @return the element polled, null if another thread took it
+     */
+    @Benchmark
+    public Integer mpmcOfferPoll() {
+        mpmc.offer(element);
+        return mpmc.poll();
+    }
+
+    /**
+     * One offer and one poll on the shared ArrayBlockingQueue.
+     *
+     * @return the element polled, null if another thread took it
+     */
+    @Benchmark
+    public Integer arrayBlockingOfferPoll() {
+        arrayBlocking.offer(element);
+        return arrayBlocking.poll();
+    }
+
+    /**
+     * One offer and one poll on the shared ConcurrentLinkedQueue.
+     *
+     * @return the element polled, null if another thread took it
+     */
+    @Benchmark
+    public Integer concurrentLinkedOfferPoll() {
+        concurrentLinked.offer(element);
+        return concurrentLinked.poll();
+    }
+
+    /**
+     * One put and one take on the shared MpmcArrayQueue.
+     *
+     * @return the element taken
+     * @throws InterruptedException never, nothing interrupts the threads
+     */
+    @Benchmark
+    public Integer mpmcPutTake() throws InterruptedException {
+        mpmc.put(element);
+        return mpmc.take();
+    }
+
+    /**
+     * One put and one take on the shared ArrayBlockingQueue.
+     *
+     * @return the element taken
+     * @throws InterruptedException never, nothing interrupts the threads
+     */
+    @Benchmark
+    public Integer arrayBlockingPutTake() throws InterruptedException {
+        arrayBlocking.put(element);
+        return arrayBlocking.take();
+    }
+}
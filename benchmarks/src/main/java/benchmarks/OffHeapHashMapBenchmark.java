@@ -0,0 +1,149 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import datastructures.hashmap.OffHeapExternalChainingHashMap;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The OffHeapExternalChainingHashMap against an ExternalChainingHashMap of
+ * boxed longs holding the same 8 byte keys and values. The allocation rate
+ * reported by the GC profiler shows what each map costs the heap.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OffHeapHashMapBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM"})
+    private KeyDistribution distribution;
+
+    private byte[][] keys;
+    private byte[][] lookups;
+    private Long[] boxedKeys;
+    private Long[] boxedLookups;
+    private byte[] value;
+    private OffHeapExternalChainingHashMap offHeap;
+    private ExternalChainingHashMap<Long, Long> onHeap;
+
+    /**
+     * Builds the keys in both forms and a full map of each kind.
+     */
+    @Setup
+    public void setUp() {
+        Integer[] ints = distribution.boxedKeys(size);
+        Integer[] shuffled = KeyDistribution.shuffled(ints);
+        keys = new byte[size][];
+        lookups = new byte[size][];
+        boxedKeys = new Long[size];
+        boxedLookups = new Long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = bytes(ints[i]);
+            lookups[i] = bytes(shuffled[i]);
+            boxedKeys[i] = (long) ints[i];
+            boxedLookups[i] = (long) shuffled[i];
+        }
+        value = new byte[8];
+        offHeap = new OffHeapExternalChainingHashMap(8, 8);
+        onHeap = new ExternalChainingHashMap<>();
+        for (int i = 0; i < size; i++) {
+            offHeap.put(keys[i], keys[i]);
+            onHeap.put(boxedKeys[i], boxedKeys[i]);
+        }
+    }
+
+    /**
+     * Releases the off-heap map.
+     */
+    @TearDown
+    public void tearDown() {
+        offHeap.close();
+    }
+
+    /**
+     * Fills an empty off-heap map, including every resize, then frees it.
+     *
+     * @return the size of the filled map
+     */
+    @Benchmark
+    public int putOffHeap() {
+        try (OffHeapExternalChainingHashMap map = new OffHeapExternalChainingHashMap(8, 8)) {
+            for (byte[] key : keys) {
+                map.put(key, key);
+            }
+            return map.size();
+        }
+    }
+
+    /**
+     * Fills an empty on-heap map, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Long, Long> putOnHeap() {
+        ExternalChainingHashMap<Long, Long> map = new ExternalChainingHashMap<>();
+        for (Long key : boxedKeys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of the full off-heap map, copying each value into
+     * the same array.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHitOffHeap(Blackhole bh) {
+        for (byte[] key : lookups) {
+            offHeap.get(key, value);
+            bh.consume(value[0]);
+        }
+    }
+
+    /**
+     * Looks up every key of the full on-heap map.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHitOnHeap(Blackhole bh) {
+        for (Long key : boxedLookups) {
+            bh.consume(onHeap.get(key));
+        }
+    }
+
+    /**
+     * Encodes a key as 8 bytes.
+     *
+     * @param key the key
+     * @return its bytes
+     */
+    private static byte[] bytes(long key) {
+        return ByteBuffer.allocate(8).putLong(key).array();
+    }
+}
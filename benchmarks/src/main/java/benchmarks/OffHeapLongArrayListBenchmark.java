@@ -0,0 +1,171 @@
+package benchmarks;
+
+import datastructures.arraylist.LongArrayList;
+import datastructures.arraylist.OffHeapLongArrayList;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the OffHeapLongArrayList against the LongArrayList. Run
+ * with -prof gc to see that filling the off-heap list allocates almost
+ * nothing on the heap. The off-heap list pays for a buffer access per
+ * element, which scanning through copyTo in blocks mostly avoids.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OffHeapLongArrayListBenchmark {
+
+    /*
+     * The number of elements offHeapScanBlocks copies out at a time.
+     */
+    private static final int BLOCK = 1 << 12;
+
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    private OffHeapLongArrayList offHeap;
+    private LongArrayList onHeap;
+    private long[] block;
+    private long cursor;
+
+    /**
+     * Builds one full list of each kind.
+     */
+    @Setup
+    public void setUp() {
+        offHeap = new OffHeapLongArrayList();
+        onHeap = new LongArrayList();
+        for (long i = 0; i < size; i++) {
+            offHeap.addToBack(i);
+            onHeap.addToBack(i);
+        }
+        block = new long[BLOCK];
+    }
+
+    /**
+     * Releases the off-heap list.
+     *
+     * @throws IOException never, the list is in memory
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        offHeap.close();
+    }
+
+    /**
+     * Fills an empty OffHeapLongArrayList, then releases it.
+     *
+     * @return the last element
+     * @throws IOException never, the list is in memory
+     */
+    @Benchmark
+    public long offHeapAddToBack() throws IOException {
+        try (OffHeapLongArrayList list = new OffHeapLongArrayList()) {
+            for (long i = 0; i < size; i++) {
+                list.addToBack(i);
+            }
+            return list.get(size - 1);
+        }
+    }
+
+    /**
+     * Fills an empty LongArrayList.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public LongArrayList onHeapAddToBack() {
+        LongArrayList list = new LongArrayList();
+        for (long i = 0; i < size; i++) {
+            list.addToBack(i);
+        }
+        return list;
+    }
+
+    /**
+     * Random access into a full OffHeapLongArrayList.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public long offHeapGet() {
+        cursor = (cursor + 7919) % size;
+        return offHeap.get(cursor);
+    }
+
+    /**
+     * Random access into a full LongArrayList.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public long onHeapGet() {
+        cursor = (cursor + 7919) % size;
+        return onHeap.get((int) cursor);
+    }
+
+    /**
+     * Sums a full OffHeapLongArrayList one get at a time.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long offHeapScan() {
+        long sum = 0;
+        for (long i = 0; i < size; i++) {
+            sum += offHeap.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Sums a full OffHeapLongArrayList, copying it out in blocks.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long offHeapScanBlocks() {
+        long sum = 0;
+        for (long i = 0; i < size; i += BLOCK) {
+            int length = (int) Math.min(BLOCK, size - i);
+            offHeap.copyTo(i, block, 0, length);
+            for (int j = 0; j < length; j++) {
+                sum += block[j];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sums a full LongArrayList.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long onHeapScan() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += onHeap.get(i);
+        }
+        return sum;
+    }
+}
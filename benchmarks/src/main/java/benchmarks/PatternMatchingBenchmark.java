@@ -0,0 +1,92 @@
+package benchmarks;
+
+import algorithms.CharacterComparator;
+import algorithms.PatternMatching;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the pattern matching algorithms. The text is random over an
+ * alphabet of the given size, and the pattern is cut out of the text so there
+ * is always at least one match.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PatternMatchingBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"2", "26"})
+    private int alphabet;
+
+    @Param({"8", "64"})
+    private int patternLength;
+
+    private String text;
+    private String pattern;
+
+    /**
+     * Builds the text and the pattern.
+     */
+    @Setup
+    public void setUp() {
+        Random rand = new Random(KeyDistribution.SEED);
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append((char) ('a' + rand.nextInt(alphabet)));
+        }
+        text = builder.toString();
+        int start = rand.nextInt(size - patternLength);
+        pattern = text.substring(start, start + patternLength);
+    }
+
+    /**
+     * Brute force search.
+     *
+     * @return the match indices
+     */
+    @Benchmark
+    public List<Integer> bruteForce() {
+        return PatternMatching.bruteForce(pattern, text, new CharacterComparator());
+    }
+
+    /**
+     * Knuth-Morris-Pratt search.
+     *
+     * @return the match indices
+     */
+    @Benchmark
+    public List<Integer> kmp() {
+        return PatternMatching.kmp(pattern, text, new CharacterComparator());
+    }
+
+    /**
+     * Boyer-Moore search.
+     *
+     * @return the match indices
+     */
+    @Benchmark
+    public List<Integer> boyerMoore() {
+        return PatternMatching.boyerMoore(pattern, text, new CharacterComparator());
+    }
+}
@@ -0,0 +1,122 @@
+package benchmarks;
+
+import datastructures.arraylist.ArrayList;
+import datastructures.arraylist.IntArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the IntArrayList against an ArrayList of boxed Integers.
+ * Values start out as ints in every benchmark, so the boxed baseline pays
+ * for boxing and unboxing just as numeric callers do.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveArrayListBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private int[] data;
+    private IntArrayList intList;
+    private ArrayList<Integer> boxedList;
+
+    /**
+     * Builds the data set and one full list of each kind.
+     */
+    @Setup
+    public void setUp() {
+        data = KeyDistribution.UNIFORM.keys(size);
+        intList = new IntArrayList();
+        boxedList = new ArrayList<>();
+        for (int element : data) {
+            intList.addToBack(element);
+            boxedList.addToBack(element);
+        }
+    }
+
+    /**
+     * Fills an empty IntArrayList one element at a time.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public IntArrayList intAddToBack() {
+        IntArrayList list = new IntArrayList();
+        for (int element : data) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Fills an empty IntArrayList with one bulk add.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public IntArrayList intAddAll() {
+        IntArrayList list = new IntArrayList();
+        list.addAll(data);
+        return list;
+    }
+
+    /**
+     * Fills an empty ArrayList of Integers one element at a time.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public ArrayList<Integer> boxedAddToBack() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int element : data) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Sums a full IntArrayList.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long intSum() {
+        long sum = 0;
+        for (int i = 0; i < intList.size(); i++) {
+            sum += intList.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Sums a full ArrayList of Integers.
+     *
+     * @return the sum
+     */
+    @Benchmark
+    public long boxedSum() {
+        long sum = 0;
+        for (int i = 0; i < boxedList.size(); i++) {
+            sum += boxedList.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,133 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import datastructures.hashmap.IntObjectHashMap;
+import datastructures.hashmap.LongLongHashMap;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the primitive key hash maps against an
+ * ExternalChainingHashMap of boxed keys. Keys start out as primitives in
+ * every benchmark, so the boxed baseline pays for boxing on the hot path just
+ * as callers with numeric IDs do.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrimitiveHashMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private int[] keys;
+    private int[] lookups;
+    private LongLongHashMap longLongMap;
+    private IntObjectHashMap<String> intObjectMap;
+    private ExternalChainingHashMap<Long, Long> boxedMap;
+    private String value;
+
+    /**
+     * Builds the key sets and one full map of each kind.
+     */
+    @Setup
+    public void setUp() {
+        keys = distribution.keys(size);
+        lookups = keys.clone();
+        KeyDistribution.shuffle(lookups, new Random(KeyDistribution.SEED + 1));
+        value = "value";
+        longLongMap = new LongLongHashMap();
+        intObjectMap = new IntObjectHashMap<>();
+        boxedMap = new ExternalChainingHashMap<>();
+        for (int key : keys) {
+            longLongMap.put(key, key);
+            intObjectMap.put(key, value);
+            boxedMap.put((long) key, (long) key);
+        }
+    }
+
+    /**
+     * Fills an empty LongLongHashMap.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public LongLongHashMap longLongPut() {
+        LongLongHashMap map = new LongLongHashMap();
+        for (int key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Fills an empty ExternalChainingHashMap with boxed keys and values.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Long, Long> boxedPut() {
+        ExternalChainingHashMap<Long, Long> map = new ExternalChainingHashMap<>();
+        for (int key : keys) {
+            map.put((long) key, (long) key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of a full LongLongHashMap.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void longLongGet(Blackhole bh) {
+        for (int key : lookups) {
+            bh.consume(longLongMap.get(key));
+        }
+    }
+
+    /**
+     * Looks up every key of a full IntObjectHashMap.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void intObjectGet(Blackhole bh) {
+        for (int key : lookups) {
+            bh.consume(intObjectMap.get(key));
+        }
+    }
+
+    /**
+     * Looks up every key of a full ExternalChainingHashMap, boxing each key.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void boxedGet(Blackhole bh) {
+        for (int key : lookups) {
+            bh.consume(boxedMap.get((long) key));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package benchmarks;
+
+import algorithms.sorting.Sorting;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the quadratic sorting algorithms, kept to sizes they can
+ * finish. Every invocation sorts a fresh copy of the same input.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QuadraticSortingBenchmark {
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private Integer[] boxed;
+    private Comparator<Integer> comparator;
+
+    /**
+     * Builds the input.
+     */
+    @Setup
+    public void setUp() {
+        boxed = distribution.boxedKeys(size);
+        comparator = Comparator.naturalOrder();
+    }
+
+    /**
+     * Insertion sort.
+     *
+     * @return the sorted array
+     */
+    @Benchmark
+    public Integer[] insertionSort() {
+        Integer[] arr = boxed.clone();
+        Sorting.insertionSort(arr, comparator);
+        return arr;
+    }
+
+    /**
+     * Bubble sort.
+     *
+     * @return the sorted array
+     */
+    @Benchmark
+    public Integer[] bubbleSort() {
+        Integer[] arr = boxed.clone();
+        Sorting.bubbleSort(arr, comparator);
+        return arr;
+    }
+}
@@ -0,0 +1,110 @@
+package benchmarks;
+
+import datastructures.queue.ArrayQueue;
+import datastructures.queue.LinkedQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the ArrayQueue and the LinkedQueue.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueueBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] data;
+    private ArrayQueue<Integer> steadyArrayQueue;
+    private LinkedQueue<Integer> steadyLinkedQueue;
+
+    /**
+     * Builds the data set and two queues already holding size elements.
+     */
+    @Setup
+    public void setUp() {
+        data = KeyDistribution.UNIFORM.boxedKeys(size);
+        steadyArrayQueue = new ArrayQueue<>();
+        steadyLinkedQueue = new LinkedQueue<>();
+        for (Integer element : data) {
+            steadyArrayQueue.enqueue(element);
+            steadyLinkedQueue.enqueue(element);
+        }
+    }
+
+    /**
+     * Fills then drains an empty ArrayQueue.
+     *
+     * @return the last element dequeued
+     */
+    @Benchmark
+    public Integer arrayQueueFillDrain() {
+        ArrayQueue<Integer> queue = new ArrayQueue<>();
+        for (Integer element : data) {
+            queue.enqueue(element);
+        }
+        Integer last = null;
+        while (queue.size() > 0) {
+            last = queue.dequeue();
+        }
+        return last;
+    }
+
+    /**
+     * Fills then drains an empty LinkedQueue.
+     *
+     * @return the last element dequeued
+     */
+    @Benchmark
+    public Integer linkedQueueFillDrain() {
+        LinkedQueue<Integer> queue = new LinkedQueue<>();
+        for (Integer element : data) {
+            queue.enqueue(element);
+        }
+        Integer last = null;
+        while (queue.size() > 0) {
+            last = queue.dequeue();
+        }
+        return last;
+    }
+
+    /**
+     * One enqueue and one dequeue on an ArrayQueue holding size elements.
+     *
+     * @return the element dequeued
+     */
+    @Benchmark
+    public Integer arrayQueueSteadyState() {
+        steadyArrayQueue.enqueue(data[0]);
+        return steadyArrayQueue.dequeue();
+    }
+
+    /**
+     * One enqueue and one dequeue on a LinkedQueue holding size elements.
+     *
+     * @return the element dequeued
+     */
+    @Benchmark
+    public Integer linkedQueueSteadyState() {
+        steadyLinkedQueue.enqueue(data[0]);
+        return steadyLinkedQueue.dequeue();
+    }
+}
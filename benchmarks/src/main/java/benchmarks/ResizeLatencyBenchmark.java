@@ -0,0 +1,73 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency distribution of single puts into a growing ExternalChainingHashMap,
+ * with and without incremental resizing. Sample time mode reports the
+ * percentiles, where the blocking resize shows up as the p99.99 and max.
+ *
+ * The map is cleared once it holds maxEntries keys and grows again from the
+ * initial capacity, so every iteration crosses the same resizes.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class ResizeLatencyBenchmark {
+
+    @Param({"false", "true"})
+    private boolean incremental;
+
+    @Param({"1000000", "4000000"})
+    private int maxEntries;
+
+    private Integer[] keys;
+    private ExternalChainingHashMap<Integer, Integer> map;
+    private int next;
+
+    /**
+     * Builds the keys and an empty map.
+     */
+    @Setup
+    public void setUp() {
+        keys = KeyDistribution.UNIFORM.boxedKeys(maxEntries);
+        map = incremental
+                ? new ExternalChainingHashMap<>(ExternalChainingHashMap.INITIAL_CAPACITY,
+                        ExternalChainingHashMap.Option.INCREMENTAL_RESIZE)
+                : new ExternalChainingHashMap<>(ExternalChainingHashMap.INITIAL_CAPACITY);
+        next = 0;
+    }
+
+    /**
+     * Puts the next key.
+     *
+     * @return the previous value, always null
+     */
+    @Benchmark
+    public Integer put() {
+        if (next == maxEntries) {
+            map.clear();
+            next = 0;
+        }
+        Integer key = keys[next++];
+        return map.put(key, key);
+    }
+}
@@ -0,0 +1,129 @@
+package benchmarks;
+
+import datastructures.hashmap.RobinHoodHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the RobinHoodHashMap, the same workload as
+ * ExternalChainingHashMapBenchmark so the two can be compared directly.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RobinHoodHashMapBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private Integer[] missing;
+    private RobinHoodHashMap<Integer, Integer> filled;
+
+    /**
+     * Builds the key sets and a map already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        keys = distribution.boxedKeys(size);
+        lookups = KeyDistribution.shuffled(keys);
+        missing = distribution.missingKeys(size);
+        filled = new RobinHoodHashMap<>();
+        for (Integer key : keys) {
+            filled.put(key, key);
+        }
+    }
+
+    /**
+     * Fills an empty map, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public RobinHoodHashMap<Integer, Integer> put() {
+        RobinHoodHashMap<Integer, Integer> map = new RobinHoodHashMap<>();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of a full map, in a different order than they were
+     * inserted.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHit(Blackhole bh) {
+        for (Integer key : lookups) {
+            bh.consume(filled.get(key));
+        }
+    }
+
+    /**
+     * Probes a full map with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsKeyMiss(Blackhole bh) {
+        for (Integer key : missing) {
+            bh.consume(filled.containsKey(key));
+        }
+    }
+
+    /**
+     * Removes then re-adds every key of a full map.
+     *
+     * @param bh sink for the values removed
+     */
+    @Benchmark
+    public void removeAndPut(Blackhole bh) {
+        for (Integer key : keys) {
+            bh.consume(filled.remove(key));
+            filled.put(key, key);
+        }
+    }
+
+    /**
+     * Copies out the key set.
+     *
+     * @return the key set
+     */
+    @Benchmark
+    public Object keySet() {
+        return filled.keySet();
+    }
+
+    /**
+     * Copies out the values.
+     *
+     * @return the values
+     */
+    @Benchmark
+    public Object values() {
+        return filled.values();
+    }
+}
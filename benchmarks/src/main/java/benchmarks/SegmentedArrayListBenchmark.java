@@ -0,0 +1,106 @@
+package benchmarks;
+
+import datastructures.arraylist.ArrayList;
+import datastructures.arraylist.SegmentedArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the SegmentedArrayList against the ArrayList. Run with
+ * -prof gc to see the bytes each fill allocates: the ArrayList allocates
+ * and copies about twice its final backing array on the way up, the
+ * SegmentedArrayList only its chunks and directory.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SegmentedArrayListBenchmark {
+
+    @Param({"100000", "10000000"})
+    private int size;
+
+    private Integer element;
+    private SegmentedArrayList<Integer> segmented;
+    private ArrayList<Integer> contiguous;
+    private int cursor;
+
+    /**
+     * Builds one full list of each kind.
+     */
+    @Setup
+    public void setUp() {
+        element = 42;
+        segmented = new SegmentedArrayList<>();
+        contiguous = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            segmented.addToBack(element);
+            contiguous.addToBack(element);
+        }
+    }
+
+    /**
+     * Fills an empty SegmentedArrayList from the back.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public SegmentedArrayList<Integer> segmentedAddToBack() {
+        SegmentedArrayList<Integer> list = new SegmentedArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Fills an empty ArrayList from the back, including every resize.
+     *
+     * @return the filled list
+     */
+    @Benchmark
+    public ArrayList<Integer> contiguousAddToBack() {
+        ArrayList<Integer> list = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            list.addToBack(element);
+        }
+        return list;
+    }
+
+    /**
+     * Random access into a full SegmentedArrayList.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public Integer segmentedGet() {
+        cursor = (cursor + 7919) % size;
+        return segmented.get(cursor);
+    }
+
+    /**
+     * Random access into a full ArrayList.
+     *
+     * @return the element read
+     */
+    @Benchmark
+    public Integer contiguousGet() {
+        cursor = (cursor + 7919) % size;
+        return contiguous.get(cursor);
+    }
+}
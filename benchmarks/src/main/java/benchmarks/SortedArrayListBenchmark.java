@@ -0,0 +1,151 @@
+package benchmarks;
+
+import datastructures.arraylist.ArrayList;
+import datastructures.arraylist.SortedArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the SortedArrayList against an ArrayList kept sorted by
+ * hand and searched with a linear scan of get calls.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortedArrayListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] keys;
+    private Integer[] ordered;
+    private Integer[] batch;
+    private SortedArrayList<Integer> sorted;
+    private ArrayList<Integer> scanned;
+    private int cursor;
+
+    /**
+     * Builds one full list of each kind, holding the same sorted keys, and
+     * a sorted batch of a tenth as many keys to merge.
+     */
+    @Setup
+    public void setUp() {
+        keys = Arrays.stream(KeyDistribution.UNIFORM.keys(size)).boxed().toArray(Integer[]::new);
+        sorted = new SortedArrayList<>(Comparator.naturalOrder());
+        ordered = keys.clone();
+        Arrays.sort(ordered);
+        sorted.addAllSorted(ordered);
+        scanned = new ArrayList<>();
+        for (Integer key : ordered) {
+            scanned.addToBack(key);
+        }
+        batch = Arrays.copyOf(keys, size / 10);
+        Arrays.sort(batch);
+    }
+
+    /**
+     * Finds a key in the SortedArrayList with a binary search.
+     *
+     * @return the index found
+     */
+    @Benchmark
+    public int sortedSearch() {
+        cursor = (cursor + 1) % size;
+        return sorted.binarySearch(keys[cursor]);
+    }
+
+    /**
+     * Finds a key in the sorted ArrayList with a linear scan.
+     *
+     * @return the index found
+     */
+    @Benchmark
+    public int scannedSearch() {
+        cursor = (cursor + 1) % size;
+        Integer key = keys[cursor];
+        int i = 0;
+        while (i < scanned.size() && scanned.get(i) < key) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Inserts a key into the SortedArrayList and removes it again.
+     *
+     * @return the index the key went to
+     */
+    @Benchmark
+    public int sortedInsert() {
+        cursor = (cursor + 1) % size;
+        int index = sorted.insertSorted(keys[cursor]);
+        sorted.removeAtIndex(index);
+        return index;
+    }
+
+    /**
+     * Inserts a key into the sorted ArrayList at the position a linear
+     * scan finds, and removes it again.
+     *
+     * @return the index the key went to
+     */
+    @Benchmark
+    public int scannedInsert() {
+        cursor = (cursor + 1) % size;
+        Integer key = keys[cursor];
+        int i = 0;
+        while (i < scanned.size() && scanned.get(i) <= key) {
+            i++;
+        }
+        scanned.addAtIndex(i, key);
+        scanned.removeAtIndex(i);
+        return i;
+    }
+
+    /**
+     * Merges the sorted batch into a copy of the list in one pass.
+     *
+     * @return the merged list
+     */
+    @Benchmark
+    public SortedArrayList<Integer> mergeBatch() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(Comparator.naturalOrder());
+        list.addAllSorted(ordered);
+        list.addAllSorted(batch);
+        return list;
+    }
+
+    /**
+     * Inserts the sorted batch into a copy of the list one element at a
+     * time.
+     *
+     * @return the list
+     */
+    @Benchmark
+    public SortedArrayList<Integer> insertBatch() {
+        SortedArrayList<Integer> list = new SortedArrayList<>(Comparator.naturalOrder());
+        list.addAllSorted(ordered);
+        for (Integer key : batch) {
+            list.insertSorted(key);
+        }
+        return list;
+    }
+}
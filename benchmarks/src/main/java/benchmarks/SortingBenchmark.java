@@ -0,0 +1,106 @@
+package benchmarks;
+
+import algorithms.sorting.Sorting;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the O(n log n) and linear sorting algorithms. Every
+ * invocation sorts a fresh copy of the same input, so the copy is part of the
+ * measured cost of each sort. The quadratic sorts live in
+ * QuadraticSortingBenchmark.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortingBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    private Integer[] boxed;
+    private int[] primitive;
+    private List<Integer> list;
+    private Comparator<Integer> comparator;
+    private Random rand;
+
+    /**
+     * Builds the input in every shape the sorts accept.
+     */
+    @Setup
+    public void setUp() {
+        primitive = distribution.keys(size);
+        boxed = distribution.boxedKeys(size);
+        list = Arrays.asList(boxed.clone());
+        comparator = Comparator.naturalOrder();
+        rand = new Random(KeyDistribution.SEED);
+    }
+
+    /**
+     * Merge sort.
+     *
+     * @return the sorted array
+     */
+    @Benchmark
+    public Integer[] mergeSort() {
+        Integer[] arr = boxed.clone();
+        Sorting.mergeSort(arr, comparator);
+        return arr;
+    }
+
+    /**
+     * LSD radix sort.
+     *
+     * @return the sorted array
+     */
+    @Benchmark
+    public int[] lsdRadixSort() {
+        int[] arr = primitive.clone();
+        Sorting.lsdRadixSort(arr);
+        return arr;
+    }
+
+    /**
+     * Heap sort.
+     *
+     * @return the sorted array
+     */
+    @Benchmark
+    public int[] heapSort() {
+        return Sorting.heapSort(list);
+    }
+
+    /**
+     * Quickselect of the median.
+     *
+     * @return the median
+     */
+    @Benchmark
+    public Integer kthSelect() {
+        Integer[] arr = boxed.clone();
+        return Sorting.kthSelect(size / 2, arr, comparator, rand);
+    }
+}
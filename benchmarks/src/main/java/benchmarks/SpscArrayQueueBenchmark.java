@@ -0,0 +1,183 @@
+package benchmarks;
+
+import datastructures.queue.ArrayQueue;
+import datastructures.queue.SpscArrayQueue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.Control;
+
+/**
+ * Benchmarks for the SpscArrayQueue against an ArrayQueue guarded by
+ * synchronized and bounded to the same capacity. The grouped benchmarks
+ * run one producer and one consumer thread and count completed handoffs;
+ * on a single core machine they measure the cost of the threads taking
+ * turns rather than of the queues.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class SpscArrayQueueBenchmark {
+
+    /*
+     * The capacity of both queues.
+     */
+    private static final int CAPACITY = 1 << 10;
+
+    /*
+     * The number of elements offerBatch and drainTo move at a time.
+     */
+    private static final int BATCH = 64;
+
+    private Integer element;
+    private Integer[] batch;
+    private SpscArrayQueue<Integer> spsc;
+    private ArrayQueue<Integer> locked;
+
+    /**
+     * Builds an empty queue of each kind.
+     */
+    @Setup
+    public void setUp() {
+        element = 42;
+        batch = new Integer[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            batch[i] = i;
+        }
+        spsc = new SpscArrayQueue<>(CAPACITY);
+        locked = new ArrayQueue<>();
+    }
+
+    /**
+     * One offer and one poll on the SpscArrayQueue from a single thread.
+     *
+     * @return the element polled
+     */
+    @Benchmark
+    @Group("spscRoundTrip")
+    public Integer spscRoundTrip() {
+        spsc.offer(element);
+        return spsc.poll();
+    }
+
+    /**
+     * One enqueue and one dequeue on the synchronized ArrayQueue from a
+     * single thread.
+     *
+     * @return the element dequeued
+     */
+    @Benchmark
+    @Group("lockedRoundTrip")
+    public Integer lockedRoundTrip() {
+        synchronized (locked) {
+            locked.enqueue(element);
+        }
+        synchronized (locked) {
+            return locked.dequeue();
+        }
+    }
+
+    /**
+     * One offerBatch and one drainTo of BATCH elements on the
+     * SpscArrayQueue from a single thread.
+     *
+     * @param blackhole sinks the elements drained
+     * @return the number of elements drained
+     */
+    @Benchmark
+    @Group("spscBatchRoundTrip")
+    public int spscBatchRoundTrip(Blackhole blackhole) {
+        spsc.offerBatch(batch);
+        return spsc.drainTo(blackhole::consume, BATCH);
+    }
+
+    /**
+     * The producer half of a handoff through the SpscArrayQueue.
+     *
+     * @param control tells the thread when the iteration is over
+     */
+    @Benchmark
+    @Group("spscHandoff")
+    @GroupThreads(1)
+    public void spscProducer(Control control) {
+        while (!spsc.offer(element) && !control.stopMeasurement) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * The consumer half of a handoff through the SpscArrayQueue.
+     *
+     * @param control tells the thread when the iteration is over
+     * @return the element polled
+     */
+    @Benchmark
+    @Group("spscHandoff")
+    @GroupThreads(1)
+    public Integer spscConsumer(Control control) {
+        Integer data = spsc.poll();
+        while (data == null && !control.stopMeasurement) {
+            Thread.yield();
+            data = spsc.poll();
+        }
+        return data;
+    }
+
+    /**
+     * The producer half of a handoff through the synchronized ArrayQueue.
+     *
+     * @param control tells the thread when the iteration is over
+     */
+    @Benchmark
+    @Group("lockedHandoff")
+    @GroupThreads(1)
+    public void lockedProducer(Control control) {
+        while (!control.stopMeasurement) {
+            synchronized (locked) {
+                if (locked.size() < CAPACITY) {
+                    locked.enqueue(element);
+                    return;
+                }
+            }
+            Thread.yield();
+        }
+    }
+
+    /**
+     * The consumer half of a handoff through the synchronized ArrayQueue.
+     *
+     * @param control tells the thread when the iteration is over
+     * @return the element dequeued
+     */
+    @Benchmark
+    @Group("lockedHandoff")
+    @GroupThreads(1)
+    public Integer lockedConsumer(Control control) {
+        while (!control.stopMeasurement) {
+            synchronized (locked) {
+                if (locked.size() > 0) {
+                    return locked.dequeue();
+                }
+            }
+            Thread.yield();
+        }
+        return null;
+    }
+}
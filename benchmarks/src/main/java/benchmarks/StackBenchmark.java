@@ -0,0 +1,110 @@
+package benchmarks;
+
+import datastructures.stack.ArrayStack;
+import datastructures.stack.LinkedStack;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the ArrayStack and the LinkedStack.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StackBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private Integer[] data;
+    private ArrayStack<Integer> steadyArrayStack;
+    private LinkedStack<Integer> steadyLinkedStack;
+
+    /**
+     * Builds the data set and two stacks already holding size elements.
+     */
+    @Setup
+    public void setUp() {
+        data = KeyDistribution.UNIFORM.boxedKeys(size);
+        steadyArrayStack = new ArrayStack<>();
+        steadyLinkedStack = new LinkedStack<>();
+        for (Integer element : data) {
+            steadyArrayStack.push(element);
+            steadyLinkedStack.push(element);
+        }
+    }
+
+    /**
+     * Pushes then pops every element on an empty ArrayStack.
+     *
+     * @return the last element popped
+     */
+    @Benchmark
+    public Integer arrayStackPushPop() {
+        ArrayStack<Integer> stack = new ArrayStack<>();
+        for (Integer element : data) {
+            stack.push(element);
+        }
+        Integer last = null;
+        while (stack.size() > 0) {
+            last = stack.pop();
+        }
+        return last;
+    }
+
+    /**
+     * Pushes then pops every element on an empty LinkedStack.
+     *
+     * @return the last element popped
+     */
+    @Benchmark
+    public Integer linkedStackPushPop() {
+        LinkedStack<Integer> stack = new LinkedStack<>();
+        for (Integer element : data) {
+            stack.push(element);
+        }
+        Integer last = null;
+        while (stack.size() > 0) {
+            last = stack.pop();
+        }
+        return last;
+    }
+
+    /**
+     * One push and one pop on an ArrayStack holding size elements.
+     *
+     * @return the element popped
+     */
+    @Benchmark
+    public Integer arrayStackSteadyState() {
+        steadyArrayStack.push(data[0]);
+        return steadyArrayStack.pop();
+    }
+
+    /**
+     * One push and one pop on a LinkedStack holding size elements.
+     *
+     * @return the element popped
+     */
+    @Benchmark
+    public Integer linkedStackSteadyState() {
+        steadyLinkedStack.push(data[0]);
+        return steadyLinkedStack.pop();
+    }
+}
@@ -0,0 +1,151 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import datastructures.hashmap.SwissHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The SwissHashMap against the ExternalChainingHashMap with String keys.
+ * Lookups use copies of the keys, so a hit has to compare characters and
+ * cannot stop at an identity check. The miss benchmarks show what the
+ * control bytes save: the SwissHashMap rejects most missing keys without
+ * reading a key, where the chained map follows every entry of the chain.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SwissHashMapBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int size;
+
+    private String[] keys;
+    private String[] lookups;
+    private String[] missing;
+    private SwissHashMap<String, String> swiss;
+    private ExternalChainingHashMap<String, String> chained;
+
+    /**
+     * Builds the key sets and two maps already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        keys = strings(KeyDistribution.UNIFORM.boxedKeys(size));
+        lookups = strings(KeyDistribution.shuffled(KeyDistribution.UNIFORM.boxedKeys(size)));
+        missing = strings(KeyDistribution.UNIFORM.missingKeys(size));
+        swiss = new SwissHashMap<>();
+        chained = new ExternalChainingHashMap<>();
+        for (String key : keys) {
+            swiss.put(key, key);
+            chained.put(key, key);
+        }
+    }
+
+    /**
+     * Fills an empty SwissHashMap, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public SwissHashMap<String, String> putSwiss() {
+        SwissHashMap<String, String> map = new SwissHashMap<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Fills an empty ExternalChainingHashMap, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<String, String> putChained() {
+        ExternalChainingHashMap<String, String> map = new ExternalChainingHashMap<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of the full SwissHashMap.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHitSwiss(Blackhole bh) {
+        for (String key : lookups) {
+            bh.consume(swiss.get(key));
+        }
+    }
+
+    /**
+     * Looks up every key of the full ExternalChainingHashMap.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHitChained(Blackhole bh) {
+        for (String key : lookups) {
+            bh.consume(chained.get(key));
+        }
+    }
+
+    /**
+     * Probes the full SwissHashMap with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsKeyMissSwiss(Blackhole bh) {
+        for (String key : missing) {
+            bh.consume(swiss.containsKey(key));
+        }
+    }
+
+    /**
+     * Probes the full ExternalChainingHashMap with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsKeyMissChained(Blackhole bh) {
+        for (String key : missing) {
+            bh.consume(chained.containsKey(key));
+        }
+    }
+
+    /**
+     * Turns int keys into String keys of a typical length.
+     *
+     * @param ints the int keys
+     * @return a new String per key
+     */
+    private static String[] strings(Integer[] ints) {
+        String[] strings = new String[ints.length];
+        for (int i = 0; i < ints.length; i++) {
+            strings[i] = "user:" + ints[i] + ":session";
+        }
+        return strings;
+    }
+}
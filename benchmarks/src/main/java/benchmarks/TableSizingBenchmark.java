@@ -0,0 +1,111 @@
+package benchmarks;
+
+import datastructures.hashmap.ExternalChainingHashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ExternalChainingHashMap with the default 2n + 1 table and modulo indexing
+ * against power of two mode with a mixed hash and mask indexing.
+ *
+ * @author Ian Andrew McLeod
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TableSizingBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"SEQUENTIAL", "UNIFORM", "CLUSTERED"})
+    private KeyDistribution distribution;
+
+    @Param({"false", "true"})
+    private boolean powerOfTwo;
+
+    private Integer[] keys;
+    private Integer[] lookups;
+    private Integer[] missing;
+    private ExternalChainingHashMap<Integer, Integer> filled;
+
+    /**
+     * Builds the key sets and a map already holding every key.
+     */
+    @Setup
+    public void setUp() {
+        keys = distribution.boxedKeys(size);
+        lookups = KeyDistribution.shuffled(keys);
+        missing = distribution.missingKeys(size);
+        filled = create();
+        for (Integer key : keys) {
+            filled.put(key, key);
+        }
+    }
+
+    /**
+     * Fills an empty map, including every resize.
+     *
+     * @return the filled map
+     */
+    @Benchmark
+    public ExternalChainingHashMap<Integer, Integer> put() {
+        ExternalChainingHashMap<Integer, Integer> map = create();
+        for (Integer key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+
+    /**
+     * Looks up every key of a full map, in a different order than they were
+     * inserted.
+     *
+     * @param bh sink for the values read
+     */
+    @Benchmark
+    public void getHit(Blackhole bh) {
+        for (Integer key : lookups) {
+            bh.consume(filled.get(key));
+        }
+    }
+
+    /**
+     * Probes a full map with keys it does not contain.
+     *
+     * @param bh sink for the results
+     */
+    @Benchmark
+    public void containsKeyMiss(Blackhole bh) {
+        for (Integer key : missing) {
+            bh.consume(filled.containsKey(key));
+        }
+    }
+
+    /**
+     * Creates an empty map with the sizing under test.
+     *
+     * @return the map
+     */
+    private ExternalChainingHashMap<Integer, Integer> create() {
+        return powerOfTwo
+                ? new ExternalChainingHashMap<>(ExternalChainingHashMap.INITIAL_CAPACITY,
+                        ExternalChainingHashMap.Option.POWER_OF_TWO)
+                : new ExternalChainingHashMap<>(ExternalChainingHashMap.INITIAL_CAPACITY);
+    }
+}